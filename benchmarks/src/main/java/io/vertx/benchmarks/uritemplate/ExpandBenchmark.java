@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.benchmarks.uritemplate;
+
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.Variables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures {@link UriTemplate#expandToString(Variables)} of a single expression, for each operator of the RFC
+ * and each kind of variable.
+ */
+@State(Scope.Thread)
+public class ExpandBenchmark extends BenchmarkBase {
+
+  @Param({
+    "simple",
+    "reserved",
+    "fragment",
+    "label",
+    "path",
+    "matrix",
+    "query",
+    "continuation"
+  })
+  public String operator;
+
+  @Param({
+    "string",
+    "string:3",
+    "list",
+    "list*",
+    "map",
+    "map*"
+  })
+  public String variable;
+
+  private UriTemplate template;
+  private Variables variables;
+
+  @Setup
+  public void setup() {
+    template = UriTemplate.of("{" + operator(operator) + variable + "}");
+    Map<String, String> map = new LinkedHashMap<>();
+    map.put("semi", ";");
+    map.put("dot", ".");
+    map.put("comma", ",");
+    variables = Variables.variables()
+      .set("string", "Hello World!")
+      .set("list", Arrays.asList("red", "green", "blue"))
+      .set("map", map);
+  }
+
+  private static String operator(String name) {
+    switch (name) {
+      case "simple":
+        return "";
+      case "reserved":
+        return "+";
+      case "fragment":
+        return "#";
+      case "label":
+        return ".";
+      case "path":
+        return "/";
+      case "matrix":
+        return ";";
+      case "query":
+        return "?";
+      case "continuation":
+        return "&";
+      default:
+        throw new IllegalArgumentException("Unknown operator " + name);
+    }
+  }
+
+  @Benchmark
+  public String expand() {
+    return template.expandToString(variables);
+  }
+}
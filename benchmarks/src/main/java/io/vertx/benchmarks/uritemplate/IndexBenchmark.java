@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.benchmarks.uritemplate;
+
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.UriTemplateIndex;
+import io.vertx.uritemplate.UriTemplateMatch;
+import io.vertx.uritemplate.Variables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures {@link UriTemplateIndex#match(String)} of a URI against many routes, compared to matching each template
+ * in turn.
+ */
+@State(Scope.Thread)
+public class IndexBenchmark extends BenchmarkBase {
+
+  @Param({
+    "100",
+    "8000"
+  })
+  public int routes;
+
+  private List<UriTemplate> templates;
+  private UriTemplateIndex index;
+  private String[] uris;
+  private int next;
+
+  @Setup
+  public void setup() {
+    templates = new ArrayList<>(routes);
+    for (int i = 0;i < routes;i++) {
+      templates.add(UriTemplate.of("/api/v" + (i % 3) + "/service" + (i % 50) + "/resource" + i + "/{id}{?fields,page}"));
+    }
+    index = UriTemplateIndex.create(templates);
+    uris = new String[64];
+    for (int i = 0;i < uris.length;i++) {
+      int route = (int) ((long) i * 7919 % routes);
+      uris[i] = "/api/v" + (route % 3) + "/service" + (route % 50) + "/resource" + route + "/" + i + "?fields=id,name&page=2";
+    }
+  }
+
+  private String uri() {
+    return uris[next++ & (uris.length - 1)];
+  }
+
+  @Benchmark
+  public UriTemplateMatch index() {
+    return index.match(uri());
+  }
+
+  @Benchmark
+  public Variables linearScan() {
+    String uri = uri();
+    for (UriTemplate template : templates) {
+      Variables variables = template.match(uri);
+      if (variables != null) {
+        return variables;
+      }
+    }
+    return null;
+  }
+}
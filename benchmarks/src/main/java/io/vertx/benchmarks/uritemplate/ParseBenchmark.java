@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.benchmarks.uritemplate;
+
+import io.vertx.uritemplate.UriTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link UriTemplate#of(String)}.
+ */
+@State(Scope.Benchmark)
+public class ParseBenchmark extends BenchmarkBase {
+
+  @Param({
+    "http://example.com/static/path/to/resource",
+    "http://{host}/product/{id}{?sort,page}",
+    "{+base}/users/{user.id}/repos{/repo,path*}{?per_page,q:10}{#section}",
+    "{;keys*}{.domain*}{&list*}",
+    "http://example.com/%E2%82%AC/{%2F_var}"
+  })
+  public String template;
+
+  @Benchmark
+  public UriTemplate parse() {
+    return UriTemplate.of(template);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.benchmarks.uritemplate;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.Variables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+
+/**
+ * Measures the expansion of templates typical of an HTTP client.
+ */
+@State(Scope.Thread)
+public class UrlBenchmark extends BenchmarkBase {
+
+  private UriTemplate constant;
+  private UriTemplate product;
+  private UriTemplate search;
+  private Variables variables;
+
+  @Setup
+  public void setup() {
+    constant = UriTemplate.of("http://example.com/api/v1/health");
+    product = UriTemplate.of("http://{host}/product/{id}{?sort,page}");
+    search = UriTemplate.of("https://{host}/v{version}/search{?q,tags,limit}");
+    variables = Variables.variables()
+      .set("host", "example.com")
+      .set("id", "5d3f0e8a-6d1f-4a57-9b9a-0c1b2d3e4f50")
+      .set("sort", "price")
+      .set("page", "3")
+      .set("version", "2")
+      .set("q", "café crème & croissants")
+      .set("tags", Arrays.asList("breakfast", "french"))
+      .set("limit", "50");
+  }
+
+  @Benchmark
+  public String constant() {
+    return constant.expandToString(variables);
+  }
+
+  @Benchmark
+  public String product() {
+    return product.expandToString(variables);
+  }
+
+  /**
+   * Same expansion than {@link #product()} through the expander array, hot templates expanded to a string are
+   * compiled to a string concatenation instead.
+   */
+  @Benchmark
+  public String productInterpreted() {
+    return product.expandTo(variables, new StringBuilder(product.sizeHint())).toString();
+  }
+
+  @Benchmark
+  public Buffer productToBuffer() {
+    return product.expandToBuffer(variables);
+  }
+
+  @Benchmark
+  public String search() {
+    return search.expandToString(variables);
+  }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.uritemplate.processor;
+
+import io.vertx.uritemplate.impl.UriTemplateImpl;
+import io.vertx.uritemplate.spec.UriTemplateSpec;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates the implementation of the interfaces declaring {@link UriTemplateSpec} methods.
+ *
+ * <p> The templates are parsed when the interface is compiled and each method is generated as the sequence of the
+ * literal appends and variable expansions of its template, e.g:
+ *
+ * <pre>
+ * public String product(String host, String id) {
+ *   StringBuilder $sb = new StringBuilder(42);
+ *   $sb.append("http://");
+ *   if (host != null) {
+ *     V0.expand($sb, host, true);
+ *   }
+ *   ...
+ *   return $sb.toString();
+ * }
+ * </pre>
+ */
+public class UriTemplateSpecProcessor extends AbstractProcessor {
+
+  // The single value types expanded as is
+  private static final List<String> SINGLE_TYPES = Arrays.asList(
+    "java.lang.String", "java.lang.CharSequence", "java.lang.Long", "java.lang.Integer", "java.util.UUID");
+
+  private TypeMirror stringType;
+  // The supported types of the variables with the type declaring them in the generated code, type comparisons
+  // ignore the type annotations
+  private Map<TypeMirror, String> singleTypes;
+  // The composite value types, the prefix modifier does not apply to them
+  private Map<TypeMirror, String> compositeTypes;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    Elements elements = processingEnv.getElementUtils();
+    Types types = processingEnv.getTypeUtils();
+    stringType = elements.getTypeElement("java.lang.String").asType();
+    singleTypes = new LinkedHashMap<>();
+    for (String name : SINGLE_TYPES) {
+      singleTypes.put(elements.getTypeElement(name).asType(), name);
+    }
+    compositeTypes = new LinkedHashMap<>();
+    compositeTypes.put(types.getDeclaredType(elements.getTypeElement("java.util.List"), stringType),
+      "java.util.List<java.lang.String>");
+    compositeTypes.put(types.getDeclaredType(elements.getTypeElement("java.util.Map"), stringType, stringType),
+      "java.util.Map<java.lang.String, java.lang.String>");
+  }
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(UriTemplateSpec.class.getName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Set<TypeElement> types = new LinkedHashSet<>();
+    for (Element element : roundEnv.getElementsAnnotatedWith(UriTemplateSpec.class)) {
+      Element enclosing = element.getEnclosingElement();
+      if (enclosing.getKind() != ElementKind.INTERFACE) {
+        error(element, "@UriTemplateSpec must annotate an interface method");
+      } else {
+        types.add((TypeElement) enclosing);
+      }
+    }
+    for (TypeElement type : types) {
+      generate(type);
+    }
+    return true;
+  }
+
+  private void generate(TypeElement type) {
+    if (!type.getTypeParameters().isEmpty()) {
+      error(type, "A @UriTemplateSpec interface cannot be generic");
+      return;
+    }
+    PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+    String qualifiedName = type.getQualifiedName().toString();
+    String simpleName = (pkg.isUnnamed() ? qualifiedName : qualifiedName.substring(pkg.getQualifiedName().length() + 1)).replace('.', '_') + "Impl";
+    StringBuilder constants = new StringBuilder();
+    StringBuilder methods = new StringBuilder();
+    int[] variables = { 0 };
+    boolean valid = true;
+    for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+      if (!method.getModifiers().contains(Modifier.ABSTRACT)) {
+        continue;
+      }
+      UriTemplateSpec spec = method.getAnnotation(UriTemplateSpec.class);
+      if (spec == null) {
+        error(type, "Method " + method.getSimpleName() + " must be annotated with @UriTemplateSpec");
+        valid = false;
+      } else {
+        valid &= generate(method, spec.value(), constants, methods, variables);
+      }
+    }
+    if (!valid) {
+      return;
+    }
+    StringBuilder source = new StringBuilder();
+    source.append("// Generated from ").append(qualifiedName).append(", do not edit\n");
+    if (!pkg.isUnnamed()) {
+      source.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+    }
+    source.append("import io.vertx.uritemplate.spec.TemplateVariable;\n\n");
+    source.append("public final class ").append(simpleName).append(" implements ").append(qualifiedName).append(" {\n\n");
+    source.append(constants);
+    source.append(methods);
+    source.append("}\n");
+    String name = pkg.isUnnamed() ? simpleName : pkg.getQualifiedName() + "." + simpleName;
+    try (Writer writer = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+      writer.write(source.toString());
+    } catch (IOException e) {
+      error(type, "Could not generate " + name + ": " + e.getMessage());
+    }
+  }
+
+  private boolean generate(ExecutableElement method, String uri, StringBuilder constants, StringBuilder methods, int[] variables) {
+    if (!processingEnv.getTypeUtils().isSameType(method.getReturnType(), stringType)) {
+      error(method, "A @UriTemplateSpec method must return a String");
+      return false;
+    }
+    UriTemplateImpl template;
+    try {
+      template = new UriTemplateImpl.Parser().parseURITemplate(uri);
+    } catch (IllegalArgumentException e) {
+      error(method, "Invalid URI template " + uri + (e.getMessage() != null ? ": " + e.getMessage() : ""));
+      return false;
+    }
+    Map<String, VariableElement> parameters = new LinkedHashMap<>();
+    Map<String, String> parameterTypes = new LinkedHashMap<>();
+    for (VariableElement parameter : method.getParameters()) {
+      parameters.put(parameter.getSimpleName().toString(), parameter);
+    }
+    Set<String> unused = new LinkedHashSet<>(parameters.keySet());
+    StringBuilder body = new StringBuilder();
+    int sizeEstimate = 0;
+    boolean declaredFirst = false;
+    for (UriTemplateImpl.Term term : template.terms()) {
+      if (term instanceof UriTemplateImpl.Literals) {
+        String value = ((UriTemplateImpl.Literals) term).value();
+        sizeEstimate += value.length();
+        body.append("    $sb.append(").append(literal(value)).append(");\n");
+        continue;
+      }
+      UriTemplateImpl.Expression expression = (UriTemplateImpl.Expression) term;
+      List<UriTemplateImpl.Varspec> varspecs = expression.varspecs();
+      sizeEstimate += 16;
+      boolean single = varspecs.size() == 1;
+      if (!single) {
+        body.append(declaredFirst ? "    $first = true;\n" : "    boolean $first = true;\n");
+        declaredFirst = true;
+      }
+      for (UriTemplateImpl.Varspec varspec : varspecs) {
+        VariableElement parameter = parameters.get(varspec.varname);
+        if (parameter == null) {
+          error(method, "Variable " + varspec.varname + " of " + uri + " does not match a parameter of " + method.getSimpleName());
+          return false;
+        }
+        unused.remove(varspec.varname);
+        TypeMirror type = parameter.asType();
+        boolean primitive = type.getKind() == TypeKind.LONG || type.getKind() == TypeKind.INT;
+        String typeName = primitive ? type.getKind().name().toLowerCase() : typeName(singleTypes, type);
+        if (typeName == null) {
+          typeName = typeName(compositeTypes, type);
+          if (typeName == null) {
+            error(parameter, "Unsupported variable type " + type);
+            return false;
+          } else if (varspec.maxLength > 0) {
+            error(parameter, "The prefix modifier of " + varspec.varname + " does not apply to a list or a map");
+            return false;
+          }
+        }
+        parameterTypes.put(varspec.varname, typeName);
+        String constant = "V" + variables[0]++;
+        constants.append("  private static final TemplateVariable ").append(constant)
+          .append(" = TemplateVariable.of(").append(literal(expression.operator())).append(", ").append(literal(varspec.varname))
+          .append(", ").append(varspec.maxLength).append(", ").append(varspec.exploded).append(");\n");
+        String expand = constant + ".expand($sb, " + varspec.varname + ", " + (single ? "true" : "$first") + ")";
+        if (single) {
+          if (primitive) {
+            body.append("    ").append(expand).append(";\n");
+          } else {
+            body.append("    if (").append(varspec.varname).append(" != null) {\n");
+            body.append("      ").append(expand).append(";\n");
+            body.append("    }\n");
+          }
+        } else {
+          if (primitive) {
+            body.append("    ").append(expand).append(";\n");
+            body.append("    $first = false;\n");
+          } else {
+            body.append("    if (").append(varspec.varname).append(" != null && ").append(expand).append(") {\n");
+            body.append("      $first = false;\n");
+            body.append("    }\n");
+          }
+        }
+      }
+    }
+    if (!unused.isEmpty()) {
+      error(method, "Parameters " + unused + " of " + method.getSimpleName() + " are not variables of " + uri);
+      return false;
+    }
+    methods.append("\n  @Override\n  public String ").append(method.getSimpleName()).append("(");
+    boolean firstParameter = true;
+    for (VariableElement parameter : method.getParameters()) {
+      if (!firstParameter) {
+        methods.append(", ");
+      }
+      String name = parameter.getSimpleName().toString();
+      methods.append(parameterTypes.get(name)).append(' ').append(name);
+      firstParameter = false;
+    }
+    methods.append(") {\n");
+    if (template.terms().size() == 1 && template.terms().get(0) instanceof UriTemplateImpl.Literals) {
+      // Nothing to expand
+      methods.append("    return ").append(literal(((UriTemplateImpl.Literals) template.terms().get(0)).value())).append(";\n");
+    } else {
+      methods.append("    StringBuilder $sb = new StringBuilder(").append(sizeEstimate).append(");\n");
+      methods.append(body);
+      methods.append("    return $sb.toString();\n");
+    }
+    methods.append("  }\n");
+    return true;
+  }
+
+  /**
+   * @return the name of the supported type same as {@code type} or {@code null}
+   */
+  private String typeName(Map<TypeMirror, String> supported, TypeMirror type) {
+    for (Map.Entry<TypeMirror, String> entry : supported.entrySet()) {
+      if (processingEnv.getTypeUtils().isSameType(entry.getKey(), type)) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+
+  private static String literal(String s) {
+    StringBuilder sb = new StringBuilder("\"");
+    for (int i = 0;i < s.length();i++) {
+      char ch = s.charAt(i);
+      if (ch == '"' || ch == '\\') {
+        sb.append('\\').append(ch);
+      } else if (ch < 0x20 || ch > 0x7E) {
+        sb.append(String.format("\\u%04x", (int) ch));
+      } else {
+        sb.append(ch);
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+  private void error(Element element, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests.uritemplate;
+
+import io.vertx.uritemplate.spec.UriTemplateSpec;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The implementation is generated by the template spec processor.
+ */
+public interface ProductUris {
+
+  @UriTemplateSpec("http://{host}/product/{id}{?sort}")
+  String product(String host, long id, String sort);
+
+  @UriTemplateSpec("/customers/{customer}/orders{/order:8}{?page,size,filter*}")
+  String orders(UUID customer, String order, int page, Integer size, Map<String, String> filter);
+
+  @UriTemplateSpec("{+base}/tags{/tags*}{#fragment}")
+  String tags(CharSequence base, List<String> tags, String fragment);
+
+  @UriTemplateSpec("/static")
+  String constant();
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests.uritemplate;
+
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.Variables;
+import io.vertx.uritemplate.processor.UriTemplateSpecProcessor;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class UriTemplateSpecTest {
+
+  // Generated when the tests are compiled
+  private final ProductUris uris = new ProductUrisImpl();
+
+  @Test
+  public void testSingleVariables() {
+    assertEquals("http://example.com/product/123?sort=price%20asc", uris.product("example.com", 123, "price asc"));
+    assertEquals("http://example.com/product/-1", uris.product("example.com", -1, null));
+    assertEquals("http:///product/0", uris.product(null, 0, null));
+  }
+
+  @Test
+  public void testMultipleVariables() {
+    UUID customer = UUID.randomUUID();
+    Map<String, String> filter = new LinkedHashMap<>();
+    filter.put("status", "shipped");
+    filter.put("year", "2024");
+    UriTemplate template = UriTemplate.of("/customers/{customer}/orders{/order:8}{?page,size,filter*}");
+    Variables variables = Variables.variables()
+      .set("customer", customer)
+      .set("order", "0123456789")
+      .set("page", 2)
+      .set("size", 50)
+      .set("filter", filter);
+    assertEquals(template.expandToString(variables), uris.orders(customer, "0123456789", 2, 50, filter));
+    variables = Variables.variables().set("customer", customer).set("page", 0);
+    assertEquals(template.expandToString(variables), uris.orders(customer, null, 0, null, null));
+  }
+
+  @Test
+  public void testReservedAndLists() {
+    UriTemplate template = UriTemplate.of("{+base}/tags{/tags*}{#fragment}");
+    Variables variables = Variables.variables()
+      .set("base", "http://example.com/a%20b")
+      .set("tags", Arrays.asList("a b", "c/d"))
+      .set("fragment", "top/1");
+    assertEquals(template.expandToString(variables), uris.tags(new StringBuilder("http://example.com/a%20b"), Arrays.asList("a b", "c/d"), "top/1"));
+    assertEquals("/tags", uris.tags(null, Collections.emptyList(), null));
+  }
+
+  @Test
+  public void testConstant() {
+    assertEquals("/static", uris.constant());
+  }
+
+  @Test
+  public void testValidation() throws Exception {
+    assertTrue(compile("public interface Uris {\n  @UriTemplateSpec(\"/{id\")\n  String get(String id);\n}").get(0).startsWith("Invalid URI template /{id"));
+    assertTrue(compile("public interface Uris {\n  @UriTemplateSpec(\"/{id}\")\n  String get(String other);\n}").get(0).startsWith("Variable id of /{id} does not match"));
+    assertTrue(compile("public interface Uris {\n  @UriTemplateSpec(\"/{id}\")\n  String get(String id, String other);\n}").get(0).startsWith("Parameters [other]"));
+    assertTrue(compile("public interface Uris {\n  @UriTemplateSpec(\"/{id}\")\n  String get(Object id);\n}").get(0).startsWith("Unsupported variable type"));
+    assertTrue(compile("public interface Uris {\n  @UriTemplateSpec(\"/{list:3}\")\n  String get(List<String> list);\n}").get(0).startsWith("The prefix modifier"));
+    assertTrue(compile("public interface Uris {\n  @UriTemplateSpec(\"/{id}\")\n  String get(String id);\n  String other();\n}").get(0).startsWith("Method other must be annotated"));
+    assertTrue(compile("public interface Uris {\n  @UriTemplateSpec(\"/{id}\")\n  Object get(String id);\n}").get(0).startsWith("A @UriTemplateSpec method must return a String"));
+  }
+
+  @Test
+  public void testTypeAnnotations() throws Exception {
+    assertEquals(Collections.emptyList(), compile("import java.lang.annotation.*;\n" +
+      "public interface Uris {\n" +
+      "  @Target(ElementType.TYPE_USE) @interface Nullable {}\n" +
+      "  @UriTemplateSpec(\"/{id}{/list}{?q}\")\n" +
+      "  @Nullable String get(@Nullable String id, List<@Nullable String> list, java.lang.@Nullable Integer q);\n" +
+      "}"));
+  }
+
+  private static List<String> compile(String source) throws Exception {
+    JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///test/Uris.java"), JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return "package test;\nimport io.vertx.uritemplate.spec.UriTemplateSpec;\nimport java.util.List;\n" + source;
+      }
+    };
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    Path output = Files.createTempDirectory("uritemplate-spec");
+    JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+      Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", output.toString()), null, Collections.singletonList(file));
+    task.setProcessors(Collections.singletonList(new UriTemplateSpecProcessor()));
+    task.call();
+    List<String> errors = new ArrayList<>();
+    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+      if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+        errors.add(diagnostic.getMessage(null));
+      }
+    }
+    return errors;
+  }
+}
@@ -0,0 +1,174 @@
+package examples;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.docgen.Source;
+import io.vertx.uritemplate.IndexedVariables;
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.UriTemplateCache;
+import io.vertx.uritemplate.UriTemplateIndex;
+import io.vertx.uritemplate.UriTemplateMatch;
+import io.vertx.uritemplate.Variables;
+import io.vertx.uritemplate.spi.UriTemplateMetrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Source
+public class UriTemplateExamples {
+
+  public void exampleCreate() {
+    UriTemplate template = UriTemplate.of("http://{host}/product/{id}{?sort}");
+  }
+
+  public void exampleInvalid() {
+    UriTemplate template = UriTemplate.of("{!invalid}}"); // Will throw an exception
+  }
+
+  public void exampleCache() {
+    UriTemplateCache cache = UriTemplateCache.create(1000);
+    UriTemplate template = cache.get("http://{host}/product/{id}{?sort}");
+  }
+
+  public void exampleMetrics() {
+    UriTemplateMetrics<LongAdder> metrics = new UriTemplateMetrics<LongAdder>() {
+      @Override
+      public LongAdder templateParsed(String uri, long parseTime) {
+        return new LongAdder();
+      }
+      @Override
+      public void templateExpanded(LongAdder expansions, int length, long expandTime) {
+        expansions.increment();
+      }
+    };
+    UriTemplateCache cache = UriTemplateCache.create(1000, metrics);
+  }
+
+  public void exampleExpansion() {
+    UriTemplate template = UriTemplate.of("http://{host}/product/{id}{?sort}");
+    String uri = template.expandToString(Variables
+      .variables()
+      .set("host", "localhost")
+      .set("id", "12345")
+      .set("sort", "price")
+    );
+  }
+
+  public void exampleExpandTo(UriTemplate template, Variables variables) {
+    StringBuilder sb = new StringBuilder(template.sizeHint());
+    template.expandTo(variables, sb);
+  }
+
+  public void exampleExpandToBuffer(UriTemplate template, Variables variables) {
+    Buffer buffer = template.expandToBuffer(variables);
+  }
+
+  public void exampleMatch() {
+    UriTemplate template = UriTemplate.of("http://{host}/product/{id}{?sort}");
+    Variables variables = template.match("http://localhost/product/12345?sort=price");
+    String id = variables.getSingle("id");
+  }
+
+  public void exampleIndex() {
+    UriTemplateIndex index = UriTemplateIndex.create(Arrays.asList(
+      UriTemplate.of("/users/{id}"),
+      UriTemplate.of("/users/{id}/orders{/order}"),
+      UriTemplate.of("/search{?q,page}")));
+    UriTemplateMatch match = index.match("/users/123/orders/456");
+    if (match != null) {
+      UriTemplate template = match.template();
+      String order = match.variables().getSingle("order");
+    }
+  }
+
+  public void exampleExpandAll(UriTemplate template, List<Variables> batch) {
+    List<String> uris = template.expandAll(batch);
+
+    // Or in parallel
+    List<String> list = template.expandAll(batch.parallelStream()).collect(Collectors.toList());
+  }
+
+  public void exampleExpandStream(UriTemplate template, ReadStream<Variables> variables, AsyncFile file) {
+    template
+      .expandStream(variables)
+      .pipeTo(file)
+      .onSuccess(v -> System.out.println("Sitemap written"));
+  }
+
+  public void exampleMemoized() {
+    UriTemplate template = UriTemplate.of("/catalog/{category}{?locale}").memoized(500);
+    String uri = template.expandToString(Variables
+      .variables()
+      .set("category", "books")
+      .set("locale", "fr"));
+  }
+
+  public void exampleBind() {
+    UriTemplate template = UriTemplate.of("https://{region}.{host}/v{ver}/users/{id}{?fields}");
+    UriTemplate bound = template.bind(Variables
+      .variables()
+      .set("region", "eu")
+      .set("host", "example.com")
+      .set("ver", "2"));
+    // https://eu.example.com/v2/users/{id}{?fields}
+    String uri = bound.expandToString(Variables.variables().set("id", "123"));
+  }
+
+  public void exampleSingleValueVariable(Variables variables) {
+    variables.set("server", "localhost");
+    variables.set("port", "8080");
+  }
+
+  public void exampleEncodedVariable(Variables variables) {
+    variables.setEncoded("version", "v1");
+  }
+
+  public void exampleTypedVariable(Variables variables, long orderId, UUID customerId) {
+    variables
+      .set("order", orderId)
+      .set("customer", customerId);
+  }
+
+  public void exampleResolver(UriTemplate template, JsonObject context) {
+    String uri = template.expandToString(Variables.of(name -> context.getString(name)));
+  }
+
+  public void exampleIndexedVariables() {
+    UriTemplate template = UriTemplate.of("http://{host}/product/{id}{?sort}");
+    int id = template.variableIndex("id");
+
+    // For each request
+    IndexedVariables variables = template.newVariables();
+    variables.set(id, "12345");
+    String uri = template.expandToString(variables);
+  }
+
+  public void exampleImmutableVariables(UriTemplate template) {
+    Variables defaults = Variables.variables()
+      .set("host", "example.com")
+      .set("sort", "price")
+      .freeze();
+
+    // For each request
+    String uri = template.expandToString(defaults.with("id", "12345"));
+  }
+
+  public void exampleListVariable(Variables variables) {
+    variables.set("ids", Arrays.asList("123", "456"));
+  }
+
+  public void exampleMapVariable(Variables variables) {
+    Map<String, String> query = new HashMap<>();
+    query.put("firstName", "Dale");
+    query.put("lastName", "Cooper");
+    variables.set("query", query);
+  }
+}
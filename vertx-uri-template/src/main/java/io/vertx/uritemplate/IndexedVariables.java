@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.uritemplate;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Variables created by a template, see {@link UriTemplate#newVariables()}, the values of the variables referenced by
+ * the template are stored in slots given by {@link UriTemplate#variableIndex(String)}.
+ *
+ * <p> Expanding the template that created the variables reads each value from its slot instead of looking it up
+ * by name, these variables can still be used with any other template.
+ */
+@VertxGen
+public interface IndexedVariables extends Variables {
+
+  /**
+   * Set the single variable of a slot.
+   *
+   * @param index the slot index
+   * @param value the variable value
+   * @return a reference to this, so the API can be used fluently
+   * @throws IndexOutOfBoundsException when the template has no such slot
+   */
+  @Fluent
+  IndexedVariables set(int index, String value);
+
+  /**
+   * Set the list variable of a slot.
+   *
+   * @param index the slot index
+   * @param value the variable value
+   * @return a reference to this, so the API can be used fluently
+   * @throws IndexOutOfBoundsException when the template has no such slot
+   */
+  @Fluent
+  IndexedVariables set(int index, List<String> value);
+
+  /**
+   * Set the map variable of a slot.
+   *
+   * @param index the slot index
+   * @param value the variable value
+   * @return a reference to this, so the API can be used fluently
+   * @throws IndexOutOfBoundsException when the template has no such slot
+   */
+  @Fluent
+  IndexedVariables set(int index, Map<String, String> value);
+
+  /**
+   * @return the value of the variable of a slot
+   * @throws IndexOutOfBoundsException when the template has no such slot
+   */
+  Object get(int index);
+
+}
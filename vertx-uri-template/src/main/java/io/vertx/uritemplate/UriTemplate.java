@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2011-2022 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.uritemplate;
+
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.uritemplate.impl.UriTemplateImpl;
+import io.vertx.uritemplate.spi.UriTemplateMetrics;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * A URI template that follows the <a href="https://datatracker.ietf.org/doc/html/rfc6570">rfc6570</a> level 4.
+ *
+ * <p> A template is immutable and thread safe, it can be safely shared between threads after its creation.
+ * If you are sharing a template as a static variables, keep in mind that {@link #of(String)} can fail and create
+ * a classloading issue.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+@VertxGen
+public interface UriTemplate {
+
+  /**
+   * Create a template from a string {@code uri}.
+   *
+   * <p> The string {@code uri} is validated and parsed, invalid inputs are rejected with a {@link IllegalArgumentException}.
+   *
+   * @param uri the template string
+   * @return the template
+   * @throws IllegalArgumentException when the template
+   */
+  static UriTemplate of(String uri) {
+    return new UriTemplateImpl.Parser().parseURITemplate(uri);
+  }
+
+  /**
+   * Like {@link #of(String)} but the parsing and the expansions of the template are reported to {@code metrics}.
+   *
+   * @param uri the template string
+   * @param metrics the metrics
+   * @return the template
+   * @throws IllegalArgumentException when the template is invalid
+   */
+  @GenIgnore
+  static UriTemplate of(String uri, UriTemplateMetrics<?> metrics) {
+    return new UriTemplateImpl.Parser().parseURITemplate(uri, Objects.requireNonNull(metrics));
+  }
+
+  /**
+   * Expand this template to a string.
+   *
+   * @param variables the variables
+   * @return the string expansion of this template with the {@code variables}
+   */
+  String expandToString(Variables variables);
+
+  /**
+   * Expand this template to a string.
+   *
+   * @param variables the variables
+   * @param options the options to control template expansion
+   * @return the string expansion of this template with the {@code variables}
+   */
+  String expandToString(Variables variables, ExpandOptions options);
+
+  /**
+   * Expand this template to a string builder.
+   *
+   * <p> The expansion is appended directly to {@code sb}, this avoids the creation of intermediate strings and
+   * the caller can reuse the same builder for several expansions. When the expansion fails, {@code sb} might contain
+   * a partial expansion.
+   *
+   * @param variables the variables
+   * @param sb the builder to append the expansion to
+   * @return a reference to {@code sb}
+   */
+  @GenIgnore
+  StringBuilder expandTo(Variables variables, StringBuilder sb);
+
+  /**
+   * Like {@link #expandTo(Variables, StringBuilder)} with control over template expansion.
+   *
+   * @param variables the variables
+   * @param options the options to control template expansion
+   * @param sb the builder to append the expansion to
+   * @return a reference to {@code sb}
+   */
+  @GenIgnore
+  StringBuilder expandTo(Variables variables, ExpandOptions options, StringBuilder sb);
+
+  /**
+   * Expand this template to a buffer.
+   *
+   * <p> The expansion is a valid URI and therefore only contains ASCII characters, each character is directly
+   * written as a byte.
+   *
+   * @param variables the variables
+   * @return the buffer expansion of this template with the {@code variables}
+   */
+  Buffer expandToBuffer(Variables variables);
+
+  /**
+   * Expand this template to a buffer.
+   *
+   * @param variables the variables
+   * @param options the options to control template expansion
+   * @return the buffer expansion of this template with the {@code variables}
+   */
+  Buffer expandToBuffer(Variables variables, ExpandOptions options);
+
+  /**
+   * Expand this template to an existing buffer, each character of the expansion is appended as an ASCII byte.
+   *
+   * <p> When the expansion fails, {@code buffer} might contain a partial expansion.
+   *
+   * @param variables the variables
+   * @param buffer the buffer to append the expansion to
+   * @return a reference to {@code buffer}
+   */
+  Buffer expandTo(Variables variables, Buffer buffer);
+
+  /**
+   * Like {@link #expandTo(Variables, Buffer)} with control over template expansion.
+   *
+   * @param variables the variables
+   * @param options the options to control template expansion
+   * @param buffer the buffer to append the expansion to
+   * @return a reference to {@code buffer}
+   */
+  Buffer expandTo(Variables variables, ExpandOptions options, Buffer buffer);
+
+  /**
+   * Expand this template for each of the {@code variables}, the template state and a single builder are reused
+   * for all the expansions.
+   *
+   * @param variables the variables of each expansion
+   * @return the expansions, in the order of the {@code variables}
+   */
+  @GenIgnore
+  List<String> expandAll(Iterable<Variables> variables);
+
+  /**
+   * Like {@link #expandAll(Iterable)} with control over template expansion.
+   *
+   * @param variables the variables of each expansion
+   * @param options the options to control template expansion
+   * @return the expansions, in the order of the {@code variables}
+   */
+  @GenIgnore
+  List<String> expandAll(Iterable<Variables> variables, ExpandOptions options);
+
+  /**
+   * Lazily expand this template for each element of a stream of {@code variables}, builders are reused between
+   * the expansions.
+   *
+   * <p> A parallel stream splits the expansions across the fork-join pool running the stream, e.g
+   * {@code template.expandAll(list.parallelStream())}.
+   *
+   * @param variables the stream of variables
+   * @return the stream of expansions
+   */
+  @GenIgnore
+  Stream<String> expandAll(Stream<Variables> variables);
+
+  /**
+   * Like {@link #expandAll(Stream)} with control over template expansion.
+   *
+   * @param variables the stream of variables
+   * @param options the options to control template expansion
+   * @return the stream of expansions
+   */
+  @GenIgnore
+  Stream<String> expandAll(Stream<Variables> variables, ExpandOptions options);
+
+  /**
+   * Like {@link #expandStream(ReadStream, Buffer)} with a new line delimiter.
+   *
+   * @param variables the stream of variables
+   * @return the stream of expansions
+   */
+  ReadStream<Buffer> expandStream(ReadStream<Variables> variables);
+
+  /**
+   * Map a stream of {@code variables} to the stream of the expansions of this template, each expansion is followed
+   * by the {@code delimiter}.
+   *
+   * <p> The returned stream delegates the flow control to the stream of {@code variables}, piping it to a write
+   * stream, e.g a file or an HTTP response, honours the back-pressure of the write stream and holds a single
+   * expansion in memory at a time. An expansion failure is reported to the exception handler of the returned
+   * stream.
+   *
+   * @param variables the stream of variables
+   * @param delimiter the delimiter following each expansion
+   * @return the stream of expansions
+   */
+  ReadStream<Buffer> expandStream(ReadStream<Variables> variables, Buffer delimiter);
+
+  /**
+   * Bind the expressions of this template whose variables are all defined by {@code variables}, the other
+   * expressions are left as is.
+   *
+   * <p> The bound expressions are expanded and folded with the literals, e.g binding {@code region} and {@code host}
+   * of {@code https://{region}.{host}/users/{id}} gives {@code https://eu.example.com/users/{id}}, so expanding
+   * the returned template does not expand them again.
+   *
+   * @param variables the variables to bind
+   * @return the bound template
+   */
+  UriTemplate bind(Variables variables);
+
+  /**
+   * Create a template memoizing the expansions to a string of this template, the expansions are keyed by the values
+   * of the template variables so expanding the same values again returns the same string without encoding them.
+   *
+   * <p> This is useful when the variables of a template take a small set of values, e.g a category and a locale.
+   * Only single values are memoized, the expansions with a list or map value are not. The returned template holds
+   * at most {@code maxSize} expansions, it evicts the least recently used ones when it is full.
+   *
+   * @param maxSize the maximum number of memoized expansions
+   * @return the memoizing template
+   */
+  UriTemplate memoized(int maxSize);
+
+  /**
+   * Get the slot of a variable referenced by this template, the slots are numbered from {@code 0} in the order of
+   * the first reference of each variable.
+   *
+   * @param name the variable name
+   * @return the slot index or {@code -1} when this template does not reference the variable
+   */
+  int variableIndex(String name);
+
+  /**
+   * Create variables storing the values of the variables of this template in slots, expanding this template with
+   * them reads the values by slot index instead of looking them up by name.
+   *
+   * @return the variables
+   */
+  IndexedVariables newVariables();
+
+  /**
+   * Estimate the length of the next expansion of this template, callers expanding to their own builder or buffer
+   * can use it to reserve capacity.
+   *
+   * <p> The estimate is at least the length of the template literals, it follows the longest expansions and decays
+   * slowly when the expansions get shorter.
+   *
+   * @return the estimated length of an expansion
+   */
+  int sizeHint();
+
+  /**
+   * Match a {@code uri} against this template and extract the values of the variables, this is the reverse of the
+   * template expansion.
+   *
+   * <p> The template is compiled to a matcher that scans the {@code uri} once, the captured values are pct-decoded.
+   * When the {@code uri} is ambiguous, the matcher picks a single interpretation:
+   *
+   * <ul>
+   *   <li>a value containing commas, e.g {@code {/list}} matching {@code /a,b}, is a list</li>
+   *   <li>an exploded value made of {@code key=value} pairs, e.g {@code {/map*}} matching {@code /a=1/b=2}, is a map</li>
+   *   <li>reserved expansion values, e.g {@code {+path}}, are always strings</li>
+   *   <li>an expression that is not present, e.g {@code {?q}} matching the empty string, leaves its variables undefined</li>
+   * </ul>
+   *
+   * Expanding the returned variables with this template gives back the {@code uri}, modulo the ambiguities listed
+   * above.
+   *
+   * @param uri the URI to match
+   * @return the variables or {@code null} when the {@code uri} does not match this template
+   * @throws UnsupportedOperationException when an exploded variable of this template cannot be matched unambiguously,
+   *         e.g {@code {/list*,x}}
+   */
+  @Nullable Variables match(String uri);
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.uritemplate;
+
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.uritemplate.impl.UriTemplateCacheImpl;
+import io.vertx.uritemplate.spi.UriTemplateMetrics;
+
+import java.util.Objects;
+
+/**
+ * A bounded cache of parsed templates, useful when the same template strings are created over and over, e.g
+ * templates built from a configuration.
+ *
+ * <p> The cache can be safely shared between threads, when the cache is full the least recently used templates
+ * are evicted.
+ */
+@VertxGen
+public interface UriTemplateCache {
+
+  /**
+   * Create a cache.
+   *
+   * @param maxSize the maximum number of templates the cache holds
+   * @return the cache
+   */
+  static UriTemplateCache create(int maxSize) {
+    return new UriTemplateCacheImpl(maxSize);
+  }
+
+  /**
+   * Create a cache reporting the cache lookups to {@code metrics}, the cached templates are created with the
+   * same {@code metrics}, see {@link UriTemplate#of(String, UriTemplateMetrics)}.
+   *
+   * @param maxSize the maximum number of templates the cache holds
+   * @param metrics the metrics
+   * @return the cache
+   */
+  @GenIgnore
+  static UriTemplateCache create(int maxSize, UriTemplateMetrics<?> metrics) {
+    return new UriTemplateCacheImpl(maxSize, Objects.requireNonNull(metrics));
+  }
+
+  /**
+   * Get the template of the string {@code uri}, the template is parsed and cached when it is not already cached.
+   *
+   * @param uri the template string
+   * @return the template
+   * @throws IllegalArgumentException when the template is invalid, invalid templates are not cached
+   */
+  UriTemplate get(String uri);
+
+  /**
+   * @return the number of cached templates
+   */
+  int size();
+
+  /**
+   * Remove all the cached templates, the statistics are not reset.
+   */
+  void clear();
+
+  /**
+   * @return the number of {@link #get} calls that returned a cached template
+   */
+  long hitCount();
+
+  /**
+   * @return the number of {@link #get} calls that parsed the template
+   */
+  long missCount();
+
+  /**
+   * @return the number of templates evicted from the cache
+   */
+  long evictionCount();
+
+}
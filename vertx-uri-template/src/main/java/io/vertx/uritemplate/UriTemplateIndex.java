@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.uritemplate;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.uritemplate.impl.UriTemplateIndexImpl;
+
+import java.util.List;
+
+/**
+ * An index of templates finding the template that matches a URI, e.g to route a request.
+ *
+ * <p> The templates share a prefix tree of their literals and expressions, so matching a URI costs time proportional
+ * to the length of the URI rather than to the number of templates.
+ *
+ * <p> The index is immutable and can be safely shared between threads.
+ */
+@VertxGen
+public interface UriTemplateIndex {
+
+  /**
+   * Create an index of {@code templates}.
+   *
+   * @param templates the templates
+   * @return the index
+   * @throws IllegalArgumentException when a template cannot be matched, see {@link UriTemplate#match(String)}
+   */
+  static UriTemplateIndex create(List<UriTemplate> templates) {
+    return new UriTemplateIndexImpl(templates);
+  }
+
+  /**
+   * @return the number of templates of this index
+   */
+  int size();
+
+  /**
+   * Match a {@code uri} against the templates of this index.
+   *
+   * <p> When several templates match the {@code uri}, literals are preferred over expressions at each position of the
+   * {@code uri}, e.g {@code /users/me} is preferred over {@code /users/{id}}, otherwise the first template given to
+   * the index wins.
+   *
+   * @param uri the URI to match
+   * @return the match or {@code null} when no template matches the {@code uri}
+   */
+  @Nullable UriTemplateMatch match(String uri);
+
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.uritemplate;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * The result of matching a URI with a {@link UriTemplateIndex}.
+ */
+@VertxGen
+public interface UriTemplateMatch {
+
+  /**
+   * @return the template matching the URI
+   */
+  UriTemplate template();
+
+  /**
+   * @return the variables extracted from the URI
+   */
+  Variables variables();
+
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2011-2021 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.uritemplate;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.json.JsonObject;
+import io.vertx.uritemplate.impl.ImmutableVariables;
+import io.vertx.uritemplate.impl.JsonVariables;
+import io.vertx.uritemplate.impl.VariablesImpl;
+import io.vertx.uritemplate.impl.VariablesView;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Holds a set of name/value pairs where each value can be a {@code String} or a {@code List<String>} or a {@code Map<String, String>}.
+ */
+@VertxGen
+public interface Variables {
+
+  /**
+   * @return an empty instance
+   */
+  static Variables variables() {
+    return new VariablesImpl();
+  }
+
+  /**
+   * Create an instance populated from a JSON object:
+   *
+   * <ul>
+   *   <li>{@code null} are conserved</li>
+   *   <li>{@code JsonArray} is converted to {@code List<String>}</li>
+   *   <li>{@code JsonObject} is converted to {@code Map<String, String>}</li>
+   *   <li>any other value is converted to a string</li>
+   * </ul>
+   *
+   * Note that nested JSON elements are converted to a string, so { "user": { "first_name": "John", "last_name": "Doe", "address" : { "city": "Paris", etc... } } }
+   * flattens the JSON "address" to the string "{\"city\":\"Paris\",etc...}".
+   *
+   * @param json the json that populates the returned variables
+   * @return an instance populated from a JSON object
+   */
+  static Variables variables(JsonObject json) {
+    return variables().addAll(json);
+  }
+
+  /**
+   * Create read-only variables resolving each value on demand with a {@code resolver}, only the variables
+   * referenced by an expanded template are resolved.
+   *
+   * <p> The {@code resolver} returns a {@code String}, a {@code List<String>}, a {@code Map<String, String>} or
+   * {@code null} when the variable is not defined, single values can also be a {@code Long}, an {@code Integer},
+   * a {@code UUID} or a {@code CharSequence}. The variable names are not known, so {@link #names()} throws
+   * an {@link UnsupportedOperationException}.
+   *
+   * @param resolver the function resolving a variable value from its name
+   * @return the variables
+   */
+  static Variables of(Function<String, Object> resolver) {
+    return new VariablesView(resolver, null);
+  }
+
+  /**
+   * Create read-only variables backed by a {@code map}, the map is not copied and changes to the map are
+   * visible to the variables.
+   *
+   * <p> The values of the map are a {@code String}, a {@code List<String>} or a {@code Map<String, String>}.
+   *
+   * @param map the map of variable values
+   * @return the variables
+   */
+  @GenIgnore
+  static Variables of(Map<String, ?> map) {
+    return new VariablesView(map::get, map.keySet());
+  }
+
+  /**
+   * Create read-only variables backed by a JSON object, unlike {@link #variables(JsonObject)} the JSON object is not
+   * copied: the values are converted the same way when they are looked up, JSON arrays and objects are viewed as
+   * lists and maps converting their elements as they are iterated.
+   *
+   * <p> Changes to the JSON object are visible to the variables.
+   *
+   * @param json the JSON object
+   * @return the variables
+   */
+  static Variables of(JsonObject json) {
+    return new JsonVariables(json);
+  }
+
+  /**
+   * Set a single variable.
+   * @param name the variable name
+   * @param value the variable value
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  Variables set(String name, String value);
+
+  /**
+   * Set a single variable with a {@code long} value, expanding the variable writes the digits without creating
+   * a string, {@link #getSingle(String)} returns the decimal representation of the value.
+   *
+   * <p> The default implementation sets the decimal representation with {@link #set(String, String)}.
+   *
+   * @param name the variable name
+   * @param value the variable value
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  default Variables set(String name, long value) {
+    return set(name, Long.toString(value));
+  }
+
+  /**
+   * Like {@link #set(String, long)} with an {@code int} value.
+   */
+  @GenIgnore
+  @Fluent
+  default Variables set(String name, int value) {
+    return set(name, Integer.toString(value));
+  }
+
+  /**
+   * Set a single variable with a {@code UUID} value, expanding the variable writes the hexadecimal digits without
+   * creating a string, {@link #getSingle(String)} returns the canonical representation of the value.
+   *
+   * <p> The default implementation sets the canonical representation with {@link #set(String, String)}.
+   *
+   * @param name the variable name
+   * @param value the variable value
+   * @return a reference to this, so the API can be used fluently
+   */
+  @GenIgnore
+  @Fluent
+  default Variables set(String name, UUID value) {
+    return set(name, value != null ? value.toString() : null);
+  }
+
+  /**
+   * Set a single variable with a character sequence value, e.g a {@code StringBuilder}, the sequence is encoded
+   * as it is expanded and must not be modified until then, {@link #getSingle(String)} returns the value as a string.
+   *
+   * <p> The default implementation sets the sequence converted to a string with {@link #set(String, String)}.
+   *
+   * @param name the variable name
+   * @param value the variable value
+   * @return a reference to this, so the API can be used fluently
+   */
+  @GenIgnore
+  @Fluent
+  default Variables set(String name, CharSequence value) {
+    return set(name, value != null ? value.toString() : null);
+  }
+
+  /**
+   * Set a single variable whose encodings are computed once, expanding the variable then only appends the
+   * encoded value.
+   *
+   * <p> This is useful for values that do not change and are expanded many times, e.g an API version, the
+   * getters return the value as is.
+   *
+   * <p> The default implementation sets the value like {@link #set(String, String)}.
+   *
+   * @param name the variable name
+   * @param value the variable value
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  default Variables setEncoded(String name, String value) {
+    return set(name, value);
+  }
+
+  /**
+   * Set a list variable.
+   * @param name the variable name
+   * @param value the variable value
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  Variables set(String name, List<String> value);
+
+  /**
+   * Set a map variable.
+   * @param name the variable name
+   * @param value the variable value
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  Variables set(String name, Map<String, String> value);
+
+  /**
+   * Like {@link #addAll(JsonObject)} but overwrites previous variables.
+   */
+  @Fluent
+  default Variables setAll(JsonObject json) {
+    return clear().addAll(json);
+  }
+
+  /**
+   * Populates with a JSON object:
+   *
+   * <ul>
+   *   <li>{@code null} are conserved</li>
+   *   <li>{@code JsonArray} is converted to {@code List<String>}</li>
+   *   <li>{@code JsonObject} is converted to {@code Map<String, String>}</li>
+   *   <li>any other value is converted to a string</li>
+   * </ul>
+   *
+   * Note that nested JSON elements are converted to a string, so { "user": { "first_name": "John", "last_name": "Doe", "address" : { "city": "Paris", etc... } } }
+   * flattens the JSON "address" to the string "{\"city\":\"Paris\",etc...}".
+   *
+   * @param json the json that populates the returned variables
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  Variables addAll(JsonObject json);
+
+  @Fluent
+  Variables clear();
+
+  /**
+   * Create an immutable snapshot of these variables, the snapshot can be shared between threads and expanded
+   * concurrently, e.g defaults shared by all the verticle instances of a deployment.
+   *
+   * <p> The list and map values are copied, the snapshot of immutable variables is the same instance.
+   *
+   * @return the immutable variables
+   * @throws UnsupportedOperationException when the variable names are not known, see {@link #of(Function)}
+   */
+  default Variables freeze() {
+    return ImmutableVariables.copyOf(this);
+  }
+
+  /**
+   * Derive immutable variables from the snapshot of these variables with a single variable set, a {@code null}
+   * value removes the variable. These variables are not modified.
+   *
+   * <p> Deriving immutable variables shares the values with them instead of copying, so shared defaults can be
+   * layered with the values of a request.
+   *
+   * @param name the variable name
+   * @param value the variable value
+   * @return the derived immutable variables
+   */
+  default Variables with(String name, String value) {
+    return freeze().with(name, value);
+  }
+
+  /**
+   * Like {@link #with(String, String)} with a list variable.
+   */
+  default Variables with(String name, List<String> value) {
+    return freeze().with(name, value);
+  }
+
+  /**
+   * Like {@link #with(String, String)} with a map variable.
+   */
+  default Variables with(String name, Map<String, String> value) {
+    return freeze().with(name, value);
+  }
+
+  /**
+   * @return the set of variable names
+   */
+  Set<String> names();
+
+  /**
+   * @return the value of the variable {@code name}
+   */
+  Object get(String name);
+
+  /**
+   * @return the single value of the variable {@code name}
+   */
+  String getSingle(String name);
+
+  /**
+   * @return the list value of the variable {@code name}
+   */
+  List<String> getList(String name);
+
+  /**
+   * @return the map value of the variable {@code name}
+   */
+  Map<String, String> getMap(String name);
+
+}
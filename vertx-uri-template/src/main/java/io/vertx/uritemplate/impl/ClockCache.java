@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A bounded concurrent map, lookups are lock-free and eviction approximates LRU with the CLOCK algorithm: a recently
+ * used entry gets a second chance and is moved at the end of the eviction queue.
+ */
+final class ClockCache<K, V> {
+
+  private static final class Entry<K, V> {
+    private final K key;
+    private final V value;
+    private volatile boolean referenced;
+    private Entry(K key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  private final int maxSize;
+  private final Consumer<? super V> evictionListener;
+  private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Entry<K, V>> queue = new ConcurrentLinkedQueue<>();
+
+  /**
+   * @param maxSize the maximum number of entries
+   * @param evictionListener called with the evicted values or {@code null}
+   */
+  ClockCache(int maxSize, Consumer<? super V> evictionListener) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Max size must be > 0");
+    }
+    this.maxSize = maxSize;
+    this.evictionListener = evictionListener;
+  }
+
+  /**
+   * @return the value of {@code key} or {@code null} when it is missing
+   */
+  V get(K key) {
+    Entry<K, V> entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (!entry.referenced) {
+      entry.referenced = true;
+    }
+    return entry.value;
+  }
+
+  /**
+   * Like {@link ConcurrentHashMap#computeIfAbsent}, the value of a missing key is computed once, by the thread
+   * inserting it, the threads racing for the same key wait for it.
+   *
+   * @return the current or the computed value
+   */
+  V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+    Entry<K, V> entry = entries.get(key);
+    if (entry == null) {
+      Object[] created = new Object[1];
+      entry = entries.computeIfAbsent(key, k -> {
+        Entry<K, V> e = new Entry<>(k, function.apply(k));
+        created[0] = e;
+        return e;
+      });
+      if (entry == created[0]) {
+        queue.add(entry);
+        evict();
+        return entry.value;
+      }
+    }
+    if (!entry.referenced) {
+      entry.referenced = true;
+    }
+    return entry.value;
+  }
+
+  /**
+   * Insert a value unless {@code key} is present.
+   */
+  void putIfAbsent(K key, V value) {
+    Entry<K, V> entry = new Entry<>(key, value);
+    if (entries.putIfAbsent(key, entry) == null) {
+      queue.add(entry);
+      evict();
+    }
+  }
+
+  private void evict() {
+    while (entries.size() > maxSize) {
+      Entry<K, V> entry = queue.poll();
+      if (entry == null) {
+        break;
+      }
+      if (entry.referenced) {
+        entry.referenced = false;
+        queue.add(entry);
+      } else if (entries.remove(entry.key, entry) && evictionListener != null) {
+        evictionListener.accept(entry.value);
+      }
+    }
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  void clear() {
+    Entry<K, V> entry;
+    while ((entry = queue.poll()) != null) {
+      entries.remove(entry.key, entry);
+    }
+  }
+}
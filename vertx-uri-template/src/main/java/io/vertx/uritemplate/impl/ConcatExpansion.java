@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.vertx.uritemplate.Variables;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.StringConcatException;
+import java.lang.invoke.StringConcatFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The expansion of a hot template to a string by a {@link StringConcatFactory} method handle.
+ *
+ * <p> The literals are constants of the concatenation recipe and each variable gives two arguments, the operator
+ * prefix or delimiter with the name part and the encoded value. The concatenation sizes the string from its arguments and copies
+ * them once, instead of appending them to a builder that is copied again to a string.
+ *
+ * <p> A value that is not a string, an encoded value or an integer, or that is truncated by a prefix modifier, is
+ * not supported and the template expander array interprets such expansion. Templates with more than
+ * {@code MAX_VARIABLES} variables are not compiled.
+ */
+final class ConcatExpansion {
+
+  // StringConcatFactory accepts up to 200 argument slots
+  private static final int MAX_VARIABLES = 100;
+
+  private static final char TAG_ARG = '\u0001';
+  private static final char TAG_CONST = '\u0002';
+
+  private final Expander.Variable[] variables;
+  // Whether each variable is the first of its expression
+  private final boolean[] firsts;
+  private final MethodHandle concat;
+
+  private ConcatExpansion(Expander.Variable[] variables, boolean[] firsts, MethodHandle concat) {
+    this.variables = variables;
+    this.firsts = firsts;
+    this.concat = concat;
+  }
+
+  /**
+   * @return the compiled expansion of the {@code expanders} or {@code null} when the template is not supported
+   */
+  static ConcatExpansion compile(Expander[] expanders) {
+    List<Expander.Variable> variables = new ArrayList<>();
+    List<Boolean> firsts = new ArrayList<>();
+    List<Object> constants = new ArrayList<>();
+    StringBuilder recipe = new StringBuilder();
+    for (Expander expander : expanders) {
+      if (expander instanceof Expander.Literal) {
+        String literal = ((Expander.Literal) expander).value;
+        if (literal.indexOf(TAG_ARG) >= 0 || literal.indexOf(TAG_CONST) >= 0) {
+          recipe.append(TAG_CONST);
+          constants.add(literal);
+        } else {
+          recipe.append(literal);
+        }
+      } else {
+        Expander.Variable[] expression;
+        if (expander instanceof Expander.SingleVariable) {
+          expression = new Expander.Variable[] { ((Expander.SingleVariable) expander).variable };
+        } else {
+          expression = ((Expander.MultiVariable) expander).variables;
+        }
+        for (int i = 0;i < expression.length;i++) {
+          variables.add(expression[i]);
+          firsts.add(i == 0);
+          recipe.append(TAG_ARG).append(TAG_ARG);
+        }
+      }
+    }
+    if (variables.isEmpty() || variables.size() > MAX_VARIABLES) {
+      return null;
+    }
+    int arity = variables.size() * 2;
+    MethodType type = MethodType.methodType(String.class, Collections.nCopies(arity, String.class));
+    MethodHandle concat;
+    try {
+      concat = StringConcatFactory.makeConcatWithConstants(MethodHandles.lookup(), "expand", type, recipe.toString(),
+        constants.toArray()).getTarget();
+    } catch (StringConcatException e) {
+      return null;
+    }
+    boolean[] firstArray = new boolean[firsts.size()];
+    for (int i = 0;i < firstArray.length;i++) {
+      firstArray[i] = firsts.get(i);
+    }
+    return new ConcatExpansion(variables.toArray(new Expander.Variable[0]), firstArray,
+      concat.asSpreader(String[].class, arity));
+  }
+
+  /**
+   * @return the expansion or {@code null} when a value is not supported
+   */
+  String expand(Variables variables, boolean allowVariableMiss) {
+    String[] args = new String[this.variables.length * 2];
+    boolean first = true;
+    for (int i = 0;i < this.variables.length;i++) {
+      Expander.Variable variable = this.variables[i];
+      if (firsts[i]) {
+        first = true;
+      }
+      Object value = Expander.value(variables, variable);
+      if (value == null) {
+        if (!allowVariableMiss) {
+          throw variable.missing();
+        }
+        args[2 * i] = "";
+        args[2 * i + 1] = "";
+      } else if (variable.expand(value, first, args, 2 * i)) {
+        first = false;
+      } else {
+        return null;
+      }
+    }
+    try {
+      return (String) concat.invokeExact(args);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      // The concatenation does not throw checked exceptions
+      throw new AssertionError(e);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.vertx.uritemplate.impl.Output.StringBuilderOutput;
+
+import static io.vertx.uritemplate.impl.UriTemplateImpl.encodeString;
+
+/**
+ * A single value along with its encodings for the allowed sets of the operators, so expanding it only appends a
+ * string.
+ */
+final class EncodedValue {
+
+  final String value;
+  private final String unreserved;
+  private final String reserved;
+
+  EncodedValue(String value) {
+    this.value = value;
+    this.unreserved = encode(value, UriTemplateImpl.CharSet.UNRESERVED, false);
+    this.reserved = encode(value, UriTemplateImpl.CharSet.LITERALS, true);
+  }
+
+  private static String encode(String value, UriTemplateImpl.CharSet allowedSet, boolean allowPctEncoded) {
+    StringBuilder sb = new StringBuilder(value.length());
+    encodeString(value, value.length(), allowedSet, allowPctEncoded, new StringBuilderOutput(sb));
+    return sb.toString();
+  }
+
+  /**
+   * @return the encoded value for the operator {@code allowedSet}
+   */
+  String encoded(UriTemplateImpl.CharSet allowedSet) {
+    return allowedSet == UriTemplateImpl.CharSet.LITERALS ? reserved : unreserved;
+  }
+
+  @Override
+  public String toString() {
+    return value;
+  }
+}
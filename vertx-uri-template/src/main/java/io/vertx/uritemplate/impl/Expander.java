@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.vertx.uritemplate.Variables;
+import io.vertx.uritemplate.impl.Output.StringBuilderOutput;
+import io.vertx.uritemplate.spec.TemplateVariable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import static io.vertx.uritemplate.impl.UriTemplateImpl.encodeString;
+
+/**
+ * The compiled form of a template term.
+ *
+ * <p> Everything that does not depend on the variables, e.g the encoded variable names and the separators, is
+ * computed once when the template is created.
+ */
+abstract class Expander {
+
+  abstract void expand(Variables variables, boolean allowVariableMiss, Output out);
+
+  static Object value(Variables variables, String name) {
+    if (variables instanceof VariablesImpl) {
+      // Expand pre-encoded values directly
+      return ((VariablesImpl) variables).value(name);
+    } else if (variables instanceof IndexedVariablesImpl) {
+      return ((IndexedVariablesImpl) variables).value(name);
+    } else if (variables instanceof ImmutableVariables) {
+      return ((ImmutableVariables) variables).value(name);
+    }
+    return variables.get(name);
+  }
+
+  static Object value(Variables variables, Variable variable) {
+    if (variables instanceof IndexedVariablesImpl) {
+      IndexedVariablesImpl indexed = (IndexedVariablesImpl) variables;
+      if (indexed.slots == variable.slots) {
+        // Created by the template
+        return indexed.values[variable.slot];
+      }
+    }
+    return value(variables, variable.varname);
+  }
+
+  static final class Literal extends Expander {
+
+    final String value;
+    private final byte[] ascii;
+
+    Literal(String value) {
+      this.value = value;
+      this.ascii = value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    void expand(Variables variables, boolean allowVariableMiss, Output out) {
+      out.appendLiteral(value, ascii);
+    }
+  }
+
+  /**
+   * An expression with a single variable, e.g {@code {?id}}.
+   */
+  static final class SingleVariable extends Expander {
+
+    final Variable variable;
+
+    SingleVariable(Variable variable) {
+      this.variable = variable;
+    }
+
+    @Override
+    void expand(Variables variables, boolean allowVariableMiss, Output out) {
+      Object value = value(variables, variable);
+      if (value == null) {
+        out.variableMissing(variable.varname);
+        if (!allowVariableMiss) {
+          throw variable.missing();
+        }
+      } else {
+        variable.expand(value, true, out);
+      }
+    }
+  }
+
+  /**
+   * An expression with a list of variables, e.g {@code {?x,y}}.
+   */
+  static final class MultiVariable extends Expander {
+
+    final Variable[] variables;
+
+    MultiVariable(Variable[] variables) {
+      this.variables = variables;
+    }
+
+    @Override
+    void expand(Variables variables, boolean allowVariableMiss, Output out) {
+      boolean first = true;
+      for (Variable variable : this.variables) {
+        Object value = value(variables, variable);
+        if (value == null) {
+          out.variableMissing(variable.varname);
+          if (!allowVariableMiss) {
+            throw variable.missing();
+          }
+        } else if (variable.expand(value, first, out)) {
+          first = false;
+        }
+      }
+    }
+  }
+
+  /**
+   * A variable of an expression along with everything that can be precomputed from the operator.
+   */
+  static final class Variable implements TemplateVariable {
+
+    final String varname;
+    final VariableSlots slots;
+    final int slot;
+    private final int maxLength;
+    private final boolean exploded;
+    private final UriTemplateImpl.CharSet allowedSet;
+    private final boolean allowPctEncoded;
+    private final String prefix;
+    private final String delimiter;
+
+    // Operator prefix followed by the name part, when the variable is the first expanded value of the expression
+    private final String head;
+    private final String headEmpty;
+
+    // Operator delimiter followed by the name part, for the following values
+    private final String next;
+    private final String nextEmpty;
+
+    // Name part of a non exploded map, which uses the variable name instead of the decoded name
+    private final String mapHead;
+    private final String mapNext;
+
+    Variable(UriTemplateImpl.SOperator so, UriTemplateImpl.Varspec varspec, VariableSlots slots) {
+      String namePart = so.namePart(varspec.decoded, false);
+      String namePartEmpty = so.namePart(varspec.decoded, true);
+      String mapNamePart = so.namePart(varspec.varname, false);
+      this.varname = varspec.varname;
+      this.slots = slots;
+      this.slot = slots.indexOf(varspec.varname);
+      this.maxLength = varspec.maxLength;
+      this.exploded = varspec.exploded;
+      this.allowedSet = so.allowedSet;
+      this.allowPctEncoded = so.allowPctEncoded;
+      this.prefix = so.prefix;
+      this.delimiter = so.delimiter;
+      this.head = so.prefix + namePart;
+      this.headEmpty = so.prefix + namePartEmpty;
+      this.next = so.delimiter + namePart;
+      this.nextEmpty = so.delimiter + namePartEmpty;
+      this.mapHead = so.prefix + mapNamePart;
+      this.mapNext = so.delimiter + mapNamePart;
+    }
+
+    @Override
+    public boolean expand(StringBuilder sb, Object value, boolean first) {
+      return expand(value, first, new StringBuilderOutput(sb));
+    }
+
+    @Override
+    public boolean expand(StringBuilder sb, long value, boolean first) {
+      if (maxLength > 0) {
+        return expand(sb, Long.toString(value), first);
+      }
+      appendHead(first, false, new StringBuilderOutput(sb));
+      sb.append(value);
+      return true;
+    }
+
+    NoSuchElementException missing() {
+      return new NoSuchElementException("Variable " + varname + " is missing");
+    }
+
+    /**
+     * Expand the variable {@code value}.
+     *
+     * @param value the non null value
+     * @param first whether it is the first value expanded by the expression
+     * @param out the output
+     * @return whether the value was expanded, empty lists and maps are not
+     */
+    boolean expand(Object value, boolean first, Output out) {
+      if (value instanceof String) {
+        String s = (String) value;
+        int end = s.length();
+        if (maxLength > 0 && maxLength < end) {
+          end = maxLength;
+        }
+        appendHead(first, end == 0, out);
+        encodeString(s, end, allowedSet, allowPctEncoded, out);
+        return true;
+      } else if (value instanceof EncodedValue) {
+        EncodedValue encoded = (EncodedValue) value;
+        String s = encoded.value;
+        if (maxLength > 0 && maxLength < s.length()) {
+          appendHead(first, false, out);
+          encodeString(s, maxLength, allowedSet, allowPctEncoded, out);
+        } else {
+          appendHead(first, s.isEmpty(), out);
+          out.append(encoded.encoded(allowedSet));
+        }
+        return true;
+      } else if (value instanceof Long || value instanceof Integer || value instanceof UUID) {
+        if (maxLength > 0) {
+          // Uncommon, truncate the string representation
+          return expand(value.toString(), first, out);
+        }
+        // Digits, hexadecimal digits and '-' are unreserved characters
+        appendHead(first, false, out);
+        if (value instanceof UUID) {
+          UUID uuid = (UUID) value;
+          long msb = uuid.getMostSignificantBits();
+          long lsb = uuid.getLeastSignificantBits();
+          out.appendHex(msb >> 32, 8);
+          out.append('-');
+          out.appendHex(msb >> 16, 4);
+          out.append('-');
+          out.appendHex(msb, 4);
+          out.append('-');
+          out.appendHex(lsb >> 48, 4);
+          out.append('-');
+          out.appendHex(lsb, 12);
+        } else {
+          out.append(((Number) value).longValue());
+        }
+        return true;
+      } else if (value instanceof CharSequence) {
+        CharSequence s = (CharSequence) value;
+        int end = s.length();
+        if (maxLength > 0 && maxLength < end) {
+          end = maxLength;
+        }
+        appendHead(first, end == 0, out);
+        encodeString(s, end, allowedSet, allowPctEncoded, out);
+        return true;
+      } else if (value instanceof List) {
+        if (maxLength > 0) {
+          throw new IllegalArgumentException();
+        }
+        List<String> list = (List<String>) value;
+        if (list.isEmpty()) {
+          return false;
+        }
+        expandList(list, first, out);
+        return true;
+      } else if (value instanceof Map) {
+        if (maxLength > 0) {
+          throw new IllegalArgumentException();
+        }
+        Map<String, String> map = (Map<String, String>) value;
+        if (map.isEmpty()) {
+          return false;
+        }
+        expandMap(map, first, out);
+        return true;
+      } else {
+        throw new UnsupportedOperationException();
+      }
+    }
+
+    /**
+     * Expand the variable {@code value} to the arguments of a {@link ConcatExpansion}, the operator prefix or
+     * delimiter followed by the name part at {@code index} and the encoded value at {@code index + 1}.
+     *
+     * @param value the non null value
+     * @param first whether it is the first value expanded by the expression
+     * @return whether the value is supported
+     */
+    boolean expand(Object value, boolean first, String[] args, int index) {
+      String encoded;
+      if (value instanceof String) {
+        String s = (String) value;
+        if (maxLength > 0 && maxLength < s.length()) {
+          return false;
+        }
+        encoded = s;
+        for (int i = 0;i < s.length();i++) {
+          if (!allowedSet.contains(s.charAt(i))) {
+            StringBuilder sb = new StringBuilder(s.length() + 16);
+            encodeString(s, s.length(), allowedSet, allowPctEncoded, new StringBuilderOutput(sb));
+            encoded = sb.toString();
+            break;
+          }
+        }
+      } else if (value instanceof EncodedValue) {
+        EncodedValue encodedValue = (EncodedValue) value;
+        if (maxLength > 0 && maxLength < encodedValue.value.length()) {
+          return false;
+        }
+        encoded = encodedValue.encoded(allowedSet);
+      } else if ((value instanceof Long || value instanceof Integer) && maxLength <= 0) {
+        // Digits and '-' are unreserved characters
+        encoded = value.toString();
+      } else {
+        return false;
+      }
+      if (first) {
+        args[index] = encoded.isEmpty() ? headEmpty : head;
+      } else {
+        args[index] = encoded.isEmpty() ? nextEmpty : next;
+      }
+      args[index + 1] = encoded;
+      return true;
+    }
+
+    private void appendHead(boolean first, boolean empty, Output out) {
+      if (first) {
+        out.append(empty ? headEmpty : head);
+      } else {
+        out.append(empty ? nextEmpty : next);
+      }
+    }
+
+    private void expandList(List<String> list, boolean first, Output out) {
+      int size = list.size();
+      if (exploded) {
+        for (int i = 0;i < size;i++) {
+          String value = list.get(i);
+          appendHead(first && i == 0, value.isEmpty(), out);
+          encodeString(value, value.length(), allowedSet, allowPctEncoded, out);
+        }
+      } else {
+        appendHead(first, size == 1 && list.get(0).isEmpty(), out);
+        for (int i = 0;i < size;i++) {
+          if (i > 0) {
+            out.append(',');
+          }
+          String value = list.get(i);
+          encodeString(value, value.length(), allowedSet, allowPctEncoded, out);
+        }
+      }
+    }
+
+    private void expandMap(Map<String, String> map, boolean first, Output out) {
+      if (exploded) {
+        out.append(first ? prefix : delimiter);
+        boolean firstEntry = true;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+          if (!firstEntry) {
+            out.append(delimiter);
+          }
+          String key = entry.getKey();
+          String value = entry.getValue();
+          encodeString(key, key.length(), allowedSet, false, out);
+          out.append('=');
+          encodeString(value, value.length(), allowedSet, allowPctEncoded, out);
+          firstEntry = false;
+        }
+      } else {
+        out.append(first ? mapHead : mapNext);
+        boolean firstEntry = true;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+          if (!firstEntry) {
+            out.append(',');
+          }
+          String key = entry.getKey();
+          String value = entry.getValue();
+          encodeString(key, key.length(), allowedSet, allowPctEncoded, out);
+          out.append(',');
+          encodeString(value, value.length(), allowedSet, allowPctEncoded, out);
+          firstEntry = false;
+        }
+      }
+    }
+  }
+}
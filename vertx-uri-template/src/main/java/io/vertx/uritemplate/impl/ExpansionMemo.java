@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.vertx.uritemplate.Variables;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * The expansions of a template keyed by the values of the template variables.
+ *
+ * <p> Only immutable single values are part of a key, the expansion with a list, a map or a character sequence
+ * value is not memoized. The memo is bounded, when it is full the least recently used expansions are evicted, see
+ * {@link ClockCache}.
+ */
+final class ExpansionMemo {
+
+  // The key part of a missing variable
+  private static final Object MISSING = new Object();
+
+  private static final class Key {
+    private final Object[] values;
+    private final int hash;
+    private Key(Object[] values) {
+      this.values = values;
+      this.hash = Arrays.hashCode(values);
+    }
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key && ((Key) obj).hash == hash && Arrays.equals(((Key) obj).values, values);
+    }
+  }
+
+  private final VariableSlots slots;
+  private final ClockCache<Object, String> expansions;
+
+  ExpansionMemo(VariableSlots slots, int maxSize) {
+    this.slots = slots;
+    this.expansions = new ClockCache<>(maxSize, null);
+  }
+
+  /**
+   * @return the key of the {@code variables} or {@code null} when the expansion cannot be memoized
+   */
+  Object key(Variables variables, boolean allowVariableMiss) {
+    String[] names = slots.names;
+    Object[] indexed = null;
+    if (variables instanceof IndexedVariablesImpl && ((IndexedVariablesImpl) variables).slots == slots) {
+      indexed = ((IndexedVariablesImpl) variables).values;
+    }
+    if (names.length == 1) {
+      // Avoid the key allocation
+      return keyPart(indexed != null ? indexed[0] : Expander.value(variables, names[0]), allowVariableMiss);
+    }
+    Object[] values = new Object[names.length];
+    for (int i = 0;i < names.length;i++) {
+      Object part = keyPart(indexed != null ? indexed[i] : Expander.value(variables, names[i]), allowVariableMiss);
+      if (part == null) {
+        return null;
+      }
+      values[i] = part;
+    }
+    return new Key(values);
+  }
+
+  private static Object keyPart(Object value, boolean allowVariableMiss) {
+    if (value == null) {
+      // A missing variable fails the expansion
+      return allowVariableMiss ? MISSING : null;
+    } else if (value instanceof String || value instanceof Long || value instanceof Integer || value instanceof UUID) {
+      return value;
+    } else if (value instanceof EncodedValue) {
+      // Same expansion than the value
+      return ((EncodedValue) value).value;
+    }
+    return null;
+  }
+
+  String get(Object key) {
+    return expansions.get(key);
+  }
+
+  void put(Object key, String expansion) {
+    expansions.putIfAbsent(key, expansion);
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.uritemplate.Variables;
+
+/**
+ * A stream of expansions mapped from a stream of variables, the flow control is delegated to the stream of variables
+ * so a single expansion is held in memory at a time.
+ */
+class ExpansionStream implements ReadStream<Buffer> {
+
+  private final UriTemplateImpl template;
+  private final ReadStream<Variables> source;
+  private final Buffer delimiter;
+  private Handler<Throwable> exceptionHandler;
+
+  ExpansionStream(UriTemplateImpl template, ReadStream<Variables> source, Buffer delimiter) {
+    this.template = template;
+    this.source = source;
+    this.delimiter = delimiter;
+  }
+
+  @Override
+  public synchronized ExpansionStream exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    source.exceptionHandler(handler);
+    return this;
+  }
+
+  @Override
+  public ExpansionStream handler(Handler<Buffer> handler) {
+    if (handler == null) {
+      source.handler(null);
+    } else {
+      source.handler(variables -> {
+        Buffer expansion;
+        try {
+          expansion = template.expandToBuffer(variables).appendBuffer(delimiter);
+        } catch (RuntimeException e) {
+          Handler<Throwable> exceptionHandler;
+          synchronized (this) {
+            exceptionHandler = this.exceptionHandler;
+          }
+          if (exceptionHandler != null) {
+            exceptionHandler.handle(e);
+            return;
+          }
+          throw e;
+        }
+        handler.handle(expansion);
+      });
+    }
+    return this;
+  }
+
+  @Override
+  public ExpansionStream pause() {
+    source.pause();
+    return this;
+  }
+
+  @Override
+  public ExpansionStream resume() {
+    source.resume();
+    return this;
+  }
+
+  @Override
+  public ExpansionStream fetch(long amount) {
+    source.fetch(amount);
+    return this;
+  }
+
+  @Override
+  public ExpansionStream endHandler(Handler<Void> endHandler) {
+    source.endHandler(endHandler);
+    return this;
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.uritemplate.Variables;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable variables stored as layers of name and value arrays, deriving variables adds a layer on top of the
+ * variables it derives from so the values are not copied.
+ *
+ * <p> A value is looked up from the top layer to the bottom one, a {@code null} value hides the value of a lower
+ * layer. The layers are flattened when they become too deep, so the lookups stay short.
+ */
+public final class ImmutableVariables implements Variables {
+
+  // The number of layers before flattening
+  private static final int MAX_DEPTH = 8;
+
+  /**
+   * Snapshot {@code variables}, the lists and maps are copied.
+   */
+  public static ImmutableVariables copyOf(Variables variables) {
+    Set<String> names = variables.names();
+    String[] n = new String[names.size()];
+    Object[] v = new Object[n.length];
+    int i = 0;
+    for (String name : names) {
+      n[i] = name;
+      v[i++] = snapshot(Expander.value(variables, name));
+    }
+    return new ImmutableVariables(null, n, v);
+  }
+
+  private static Object snapshot(Object value) {
+    if (value instanceof List) {
+      return Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+    } else if (value instanceof Map) {
+      return Collections.unmodifiableMap(new LinkedHashMap<>((Map<?, ?>) value));
+    } else if (value instanceof CharSequence && !(value instanceof String)) {
+      return value.toString();
+    }
+    return value;
+  }
+
+  private final ImmutableVariables parent;
+  private final int depth;
+  private final String[] names;
+  private final Object[] values;
+
+  private ImmutableVariables(ImmutableVariables parent, String[] names, Object[] values) {
+    this.parent = parent;
+    this.depth = parent != null ? parent.depth + 1 : 0;
+    this.names = names;
+    this.values = values;
+  }
+
+  private ImmutableVariables derive(String name, Object value) {
+    value = snapshot(value);
+    if (depth < MAX_DEPTH) {
+      return new ImmutableVariables(this, new String[] { name }, new Object[] { value });
+    }
+    Map<String, Object> entries = entries();
+    entries.put(name, value);
+    entries.values().removeIf(v -> v == null);
+    return new ImmutableVariables(null, entries.keySet().toArray(new String[0]), entries.values().toArray());
+  }
+
+  /**
+   * @return the entries of the layers, including the {@code null} values
+   */
+  private Map<String, Object> entries() {
+    Map<String, Object> entries = parent != null ? parent.entries() : new LinkedHashMap<>();
+    for (int i = 0;i < names.length;i++) {
+      entries.put(names[i], values[i]);
+    }
+    return entries;
+  }
+
+  /**
+   * Like {@link #get(String)} but returns the pre-encoded values as is.
+   */
+  Object value(String name) {
+    ImmutableVariables layer = this;
+    do {
+      String[] names = layer.names;
+      for (int i = 0;i < names.length;i++) {
+        if (names[i].equals(name)) {
+          return layer.values[i];
+        }
+      }
+      layer = layer.parent;
+    } while (layer != null);
+    return null;
+  }
+
+  @Override
+  public Variables freeze() {
+    return this;
+  }
+
+  @Override
+  public Variables with(String name, String value) {
+    return derive(name, value);
+  }
+
+  @Override
+  public Variables with(String name, List<String> value) {
+    return derive(name, value);
+  }
+
+  @Override
+  public Variables with(String name, Map<String, String> value) {
+    return derive(name, value);
+  }
+
+  private static UnsupportedOperationException immutable() {
+    return new UnsupportedOperationException("Immutable variables");
+  }
+
+  @Override
+  public Variables set(String name, String value) {
+    throw immutable();
+  }
+
+  @Override
+  public Variables set(String name, long value) {
+    throw immutable();
+  }
+
+  @Override
+  public Variables set(String name, int value) {
+    throw immutable();
+  }
+
+  @Override
+  public Variables set(String name, UUID value) {
+    throw immutable();
+  }
+
+  @Override
+  public Variables set(String name, CharSequence value) {
+    throw immutable();
+  }
+
+  @Override
+  public Variables setEncoded(String name, String value) {
+    throw immutable();
+  }
+
+  @Override
+  public Variables set(String name, List<String> value) {
+    throw immutable();
+  }
+
+  @Override
+  public Variables set(String name, Map<String, String> value) {
+    throw immutable();
+  }
+
+  @Override
+  public Variables addAll(JsonObject json) {
+    throw immutable();
+  }
+
+  @Override
+  public Variables clear() {
+    throw immutable();
+  }
+
+  @Override
+  public Set<String> names() {
+    Map<String, Object> entries = entries();
+    entries.values().removeIf(v -> v == null);
+    return Collections.unmodifiableSet(entries.keySet());
+  }
+
+  @Override
+  public Object get(String name) {
+    Object value = value(name);
+    if (value instanceof EncodedValue) {
+      return ((EncodedValue) value).value;
+    }
+    return value;
+  }
+
+  @Override
+  public String getSingle(String name) {
+    return VariablesImpl.single(get(name));
+  }
+
+  @Override
+  public List<String> getList(String name) {
+    return (List<String>) get(name);
+  }
+
+  @Override
+  public Map<String, String> getMap(String name) {
+    return (Map<String, String>) get(name);
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.uritemplate.IndexedVariables;
+import io.vertx.uritemplate.Variables;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The values of the template variables are stored in an array, the other variables are stored by name.
+ */
+public class IndexedVariablesImpl implements IndexedVariables {
+
+  final VariableSlots slots;
+  final Object[] values;
+  private VariablesImpl others;
+
+  IndexedVariablesImpl(VariableSlots slots) {
+    this.slots = slots;
+    this.values = new Object[slots.names.length];
+  }
+
+  private Variables put(String name, Object value) {
+    int index = slots.indexOf(name);
+    if (index >= 0) {
+      values[index] = value;
+    } else {
+      if (others == null) {
+        others = new VariablesImpl();
+      }
+      others.put(name, value);
+    }
+    return this;
+  }
+
+  @Override
+  public IndexedVariables set(int index, String value) {
+    values[index] = value;
+    return this;
+  }
+
+  @Override
+  public IndexedVariables set(int index, List<String> value) {
+    values[index] = value;
+    return this;
+  }
+
+  @Override
+  public IndexedVariables set(int index, Map<String, String> value) {
+    values[index] = value;
+    return this;
+  }
+
+  @Override
+  public Object get(int index) {
+    Object value = values[index];
+    if (value instanceof EncodedValue) {
+      return ((EncodedValue) value).value;
+    }
+    return value;
+  }
+
+  @Override
+  public Variables set(String name, String value) {
+    return put(name, value);
+  }
+
+  @Override
+  public Variables set(String name, long value) {
+    return put(name, value);
+  }
+
+  @Override
+  public Variables set(String name, int value) {
+    return put(name, value);
+  }
+
+  @Override
+  public Variables set(String name, UUID value) {
+    return put(name, value);
+  }
+
+  @Override
+  public Variables set(String name, CharSequence value) {
+    return put(name, value);
+  }
+
+  @Override
+  public Variables setEncoded(String name, String value) {
+    return put(name, value != null ? new EncodedValue(value) : null);
+  }
+
+  @Override
+  public Variables set(String name, List<String> value) {
+    return put(name, value);
+  }
+
+  @Override
+  public Variables set(String name, Map<String, String> value) {
+    return put(name, value);
+  }
+
+  @Override
+  public Variables addAll(JsonObject json) {
+    VariablesImpl converted = new VariablesImpl();
+    converted.addAll(json);
+    for (String name : converted.names()) {
+      put(name, converted.value(name));
+    }
+    return this;
+  }
+
+  @Override
+  public Variables clear() {
+    Arrays.fill(values, null);
+    if (others != null) {
+      others.clear();
+    }
+    return this;
+  }
+
+  @Override
+  public Set<String> names() {
+    Set<String> names = new LinkedHashSet<>();
+    for (int i = 0;i < values.length;i++) {
+      if (values[i] != null) {
+        names.add(slots.names[i]);
+      }
+    }
+    if (others != null) {
+      names.addAll(others.names());
+    }
+    return names;
+  }
+
+  /**
+   * Like {@link #get(String)} but returns the pre-encoded values as is.
+   */
+  Object value(String name) {
+    int index = slots.indexOf(name);
+    if (index >= 0) {
+      return values[index];
+    }
+    return others != null ? others.value(name) : null;
+  }
+
+  @Override
+  public Object get(String name) {
+    int index = slots.indexOf(name);
+    if (index >= 0) {
+      return get(index);
+    }
+    return others != null ? others.get(name) : null;
+  }
+
+  @Override
+  public String getSingle(String name) {
+    return VariablesImpl.single(get(name));
+  }
+
+  @Override
+  public List<String> getList(String name) {
+    return (List<String>) get(name);
+  }
+
+  @Override
+  public Map<String, String> getMap(String name) {
+    return (Map<String, String>) get(name);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only variables backed by a JSON object, the values are converted like {@link VariablesImpl#addAll(JsonObject)}
+ * does, only when they are looked up: JSON arrays and objects are wrapped by list and map views converting their
+ * elements as they are iterated.
+ */
+public class JsonVariables extends VariablesView {
+
+  public JsonVariables(JsonObject json) {
+    super(name -> convert(json.getValue(name)), json.fieldNames());
+  }
+
+  private static Object convert(Object value) {
+    if (value instanceof JsonArray) {
+      return new JsonArrayList((JsonArray) value);
+    } else if (value instanceof JsonObject) {
+      return new JsonObjectMap((JsonObject) value);
+    } else {
+      return toString(value);
+    }
+  }
+
+  private static String toString(Object o) {
+    return o != null ? o.toString() : null;
+  }
+
+  private static final class JsonArrayList extends AbstractList<String> {
+
+    private final JsonArray array;
+
+    private JsonArrayList(JsonArray array) {
+      this.array = array;
+    }
+
+    @Override
+    public String get(int index) {
+      return JsonVariables.toString(array.getValue(index));
+    }
+
+    @Override
+    public int size() {
+      return array.size();
+    }
+  }
+
+  private static final class JsonObjectMap extends AbstractMap<String, String> {
+
+    private final JsonObject object;
+
+    private JsonObjectMap(JsonObject object) {
+      this.object = object;
+    }
+
+    @Override
+    public String get(Object key) {
+      return key instanceof String ? JsonVariables.toString(object.getValue((String) key)) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return key instanceof String && object.containsKey((String) key);
+    }
+
+    @Override
+    public int size() {
+      return object.size();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      return new AbstractSet<Entry<String, String>>() {
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+          Iterator<Entry<String, Object>> it = object.iterator();
+          return new Iterator<Entry<String, String>>() {
+            @Override
+            public boolean hasNext() {
+              return it.hasNext();
+            }
+            @Override
+            public Entry<String, String> next() {
+              Entry<String, Object> entry = it.next();
+              return new SimpleImmutableEntry<>(entry.getKey(), JsonVariables.toString(entry.getValue()));
+            }
+          };
+        }
+        @Override
+        public int size() {
+          return object.size();
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,555 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.vertx.uritemplate.Variables;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.vertx.uritemplate.impl.UriTemplateImpl.Parser.isHEXDIG;
+
+/**
+ * The compiled form of a template term used to match a URI, this is the reverse of {@link Expander}.
+ *
+ * <p> Matching is a single left to right scan without backtracking: each term consumes the input from the current
+ * position up to a limit computed by the following term, e.g a literal following an expression bounds the expression
+ * to the first occurrence of the literal (or to the end of the URI when the literal terminates the template).
+ *
+ * <p> Values are captured as the characters of the operator allowed set and pct-encoded triplets, they are decoded
+ * as UTF-8. When a value is ambiguous, the matcher favours a string, e.g {@code {+path}} never captures a list. The
+ * value of a variable with a prefix modifier is a string of at most {@code maxLength} code points.
+ */
+abstract class Matcher {
+
+  private static final char NONE = '\0';
+
+  /**
+   * Match the {@code uri} from {@code pos}.
+   *
+   * @param uri the URI
+   * @param pos the start position
+   * @param limit the position this matcher shall not go beyond
+   * @param variables the variables receiving the captured values or {@code null} to only match the input
+   * @return the position after the matched input or {@code -1} when the input does not match
+   */
+  abstract int match(String uri, int pos, int limit, Variables variables);
+
+  /**
+   * Compute the limit of the preceding matcher.
+   *
+   * @param uri the URI
+   * @param pos the position of the preceding matcher
+   * @param previous the preceding matcher
+   * @param last whether this matcher is the last of the template
+   * @return the limit or {@code -1} when the input cannot match
+   */
+  int limit(String uri, int pos, Matcher previous, boolean last) {
+    return uri.length();
+  }
+
+  /**
+   * @return whether this matcher might consume {@code ch}
+   */
+  boolean mayConsume(char ch) {
+    return false;
+  }
+
+  /**
+   * Match the {@code uri} from {@code pos} with a sequence of matchers.
+   *
+   * @return whether the whole input matches
+   */
+  static boolean match(Matcher[] matchers, int from, String uri, int pos, Variables variables) {
+    for (int i = from;i < matchers.length;i++) {
+      int limit;
+      if (i + 1 < matchers.length) {
+        limit = matchers[i + 1].limit(uri, pos, matchers[i], i + 2 == matchers.length);
+        if (limit < 0) {
+          return false;
+        }
+      } else {
+        limit = uri.length();
+      }
+      pos = matchers[i].match(uri, pos, limit, variables);
+      if (pos < 0) {
+        return false;
+      }
+    }
+    return pos == uri.length();
+  }
+
+  static final class Literal extends Matcher {
+
+    final String value;
+
+    Literal(String value) {
+      this.value = value;
+    }
+
+    @Override
+    int match(String uri, int pos, int limit, Variables variables) {
+      return uri.startsWith(value, pos) ? pos + value.length() : -1;
+    }
+
+    @Override
+    int limit(String uri, int pos, Matcher previous, boolean last) {
+      if (last) {
+        int limit = uri.length() - value.length();
+        return limit >= pos ? limit : -1;
+      } else if (previous.mayConsume(value.charAt(0))) {
+        return uri.indexOf(value, pos);
+      } else {
+        return uri.length();
+      }
+    }
+  }
+
+  /**
+   * Base class of expression matchers.
+   */
+  abstract static class Expression extends Matcher {
+
+    final UriTemplateImpl.CharSet allowedSet;
+    final String prefix;
+    final char delimiter;
+
+    // The input matched by the expression, the operator and modifiers along with the names issued by the operator,
+    // e.g {/,*} for {/x,y*} and {?x,y*} for {?x,y*}, expressions with the same shape match the same input
+    final String shape;
+
+    // The prefix modifier of each variable or 0
+    final int[] maxLengths;
+
+    Expression(UriTemplateImpl.SOperator so, List<UriTemplateImpl.Varspec> varspecs, boolean named) {
+      this.allowedSet = so.allowedSet;
+      this.prefix = so.prefix;
+      this.delimiter = so.delimiter.charAt(0);
+      this.maxLengths = new int[varspecs.size()];
+      for (int i = 0;i < maxLengths.length;i++) {
+        maxLengths[i] = varspecs.get(i).maxLength;
+      }
+      StringBuilder sb = new StringBuilder("{");
+      if (so.chars.length > 0) {
+        sb.append(so.chars[0]);
+      }
+      for (int i = 0;i < varspecs.size();i++) {
+        UriTemplateImpl.Varspec varspec = varspecs.get(i);
+        if (i > 0) {
+          sb.append(',');
+        }
+        if (named) {
+          sb.append(varspec.varname);
+        }
+        if (varspec.maxLength > 0) {
+          sb.append(':').append(varspec.maxLength);
+        } else if (varspec.exploded) {
+          sb.append('*');
+        }
+      }
+      this.shape = sb.append('}').toString();
+    }
+
+    @Override
+    int limit(String uri, int pos, Matcher previous, boolean last) {
+      if (!prefix.isEmpty() && previous.mayConsume(prefix.charAt(0))) {
+        int idx = uri.indexOf(prefix.charAt(0), pos);
+        return idx >= 0 ? idx : uri.length();
+      }
+      return uri.length();
+    }
+
+    @Override
+    boolean mayConsume(char ch) {
+      return allowedSet.contains(ch) || ch == '%' || ch == ',' || ch == delimiter;
+    }
+
+    @Override
+    int match(String uri, int pos, int limit, Variables variables) {
+      int prefixLength = prefix.length();
+      if (prefixLength > 0) {
+        if (pos + prefixLength > limit || !uri.startsWith(prefix, pos)) {
+          // Undefined variables are not expanded
+          return pos;
+        }
+      }
+      return matchVariables(uri, pos, pos + prefixLength, limit, variables);
+    }
+
+    abstract int matchVariables(String uri, int start, int pos, int limit, Variables variables);
+
+    /**
+     * Scan the characters of the allowed set and the pct-encoded triplets.
+     *
+     * @return the position of the first character that does not belong to the value
+     */
+    final int scan(String uri, int pos, int limit, char stop1, char stop2) {
+      while (pos < limit) {
+        char ch = uri.charAt(pos);
+        if (ch == stop1 || ch == stop2) {
+          break;
+        } else if (allowedSet.contains(ch)) {
+          pos++;
+        } else if (ch == '%' && pos + 2 < limit && isHEXDIG(uri.charAt(pos + 1)) && isHEXDIG(uri.charAt(pos + 2))) {
+          pos += 3;
+        } else {
+          break;
+        }
+      }
+      return pos;
+    }
+
+    /**
+     * Like {@link #scan} but stop after {@code maxLength} code points of the decoded value, the value of a variable
+     * with a prefix modifier.
+     */
+    final int scanPrefix(String uri, int pos, int limit, char stop1, char stop2, int maxLength) {
+      int codePoints = 0;
+      while (pos < limit) {
+        char ch = uri.charAt(pos);
+        int next;
+        boolean codePoint;
+        if (ch == stop1 || ch == stop2) {
+          break;
+        } else if (allowedSet.contains(ch)) {
+          next = pos + 1;
+          codePoint = true;
+        } else if (ch == '%' && pos + 2 < limit && isHEXDIG(uri.charAt(pos + 1)) && isHEXDIG(uri.charAt(pos + 2))) {
+          next = pos + 3;
+          // UTF-8 continuation bytes do not start a code point
+          codePoint = (Character.digit(uri.charAt(pos + 1), 16) & 0xC) != 0x8;
+        } else {
+          break;
+        }
+        if (codePoint && codePoints++ == maxLength) {
+          break;
+        }
+        pos = next;
+      }
+      return pos;
+    }
+
+    /**
+     * Like {@link #scan} but also accept commas separating list values.
+     */
+    final int scanList(String uri, int pos, int limit, char stop) {
+      while (true) {
+        pos = scan(uri, pos, limit, stop, ',');
+        if (pos < limit && uri.charAt(pos) == ',') {
+          pos++;
+        } else {
+          return pos;
+        }
+      }
+    }
+
+    /**
+     * Decode a value which is either a string or a list of strings when it contains commas.
+     */
+    static Object decodeValue(String uri, int start, int end) {
+      int idx = uri.indexOf(',', start);
+      if (idx < 0 || idx >= end) {
+        return decode(uri, start, end);
+      }
+      List<String> list = new ArrayList<>();
+      while (idx >= 0 && idx < end) {
+        list.add(decode(uri, start, idx));
+        start = idx + 1;
+        idx = uri.indexOf(',', start);
+      }
+      list.add(decode(uri, start, end));
+      return list;
+    }
+  }
+
+  /**
+   * Expression matcher for operators that do not issue variable names, e.g {@code {/x,y}}, variables are matched by
+   * position.
+   */
+  static final class Positional extends Expression {
+
+    private final String[] names;
+    private final boolean reserved;
+    private final boolean exploded;
+
+    Positional(UriTemplateImpl.SOperator so, List<UriTemplateImpl.Varspec> varspecs) {
+      super(so, varspecs, false);
+      String[] names = new String[varspecs.size()];
+      for (int i = 0;i < names.length;i++) {
+        UriTemplateImpl.Varspec varspec = varspecs.get(i);
+        if (varspec.exploded && i < names.length - 1) {
+          throw new UnsupportedOperationException("Cannot match the exploded variable " + varspec.varname + " which is not the last variable of its expression");
+        }
+        names[i] = varspec.varname;
+      }
+      this.names = names;
+      this.reserved = so.allowPctEncoded;
+      this.exploded = varspecs.get(names.length - 1).exploded;
+    }
+
+    @Override
+    int matchVariables(String uri, int start, int pos, int limit, Variables variables) {
+      int last = names.length - 1;
+      for (int i = 0;i <= last;i++) {
+        if (i > 0) {
+          if (pos < limit && uri.charAt(pos) == delimiter) {
+            pos++;
+          } else {
+            break;
+          }
+        }
+        String name = names[i];
+        int maxLength = maxLengths[i];
+        if (maxLength > 0) {
+          // A string, commas of the reserved operators are allowed characters
+          int end = reserved && i == last ? scanPrefix(uri, pos, limit, NONE, NONE, maxLength) : scanPrefix(uri, pos, limit, delimiter, ',', maxLength);
+          if (variables != null) {
+            variables.set(name, decode(uri, pos, end));
+          }
+          pos = end;
+        } else if (i < last) {
+          int end = scan(uri, pos, limit, delimiter, ',');
+          if (variables != null) {
+            variables.set(name, decode(uri, pos, end));
+          }
+          pos = end;
+        } else if (exploded) {
+          pos = matchExploded(uri, pos, limit, name, variables);
+        } else if (reserved) {
+          // Commas are allowed characters, so we cannot tell a list from a string
+          int end = scan(uri, pos, limit, NONE, NONE);
+          if (variables != null) {
+            variables.set(name, decode(uri, pos, end));
+          }
+          pos = end;
+        } else {
+          int end = scanList(uri, pos, limit, delimiter);
+          if (variables != null) {
+            Object value = decodeValue(uri, pos, end);
+            if (value instanceof String) {
+              variables.set(name, (String) value);
+            } else {
+              variables.set(name, (List<String>) value);
+            }
+          }
+          pos = end;
+        }
+      }
+      return pos;
+    }
+
+    private int matchExploded(String uri, int pos, int limit, String name, Variables variables) {
+      int end = scan(uri, pos, limit, delimiter, reserved ? NONE : '=');
+      if (!reserved && end < limit && uri.charAt(end) == '=') {
+        Map<String, String> map = variables != null ? new LinkedHashMap<>() : null;
+        while (true) {
+          int valueEnd = scan(uri, end + 1, limit, delimiter, NONE);
+          if (map != null) {
+            map.put(decode(uri, pos, end), decode(uri, end + 1, valueEnd));
+          }
+          pos = valueEnd;
+          if (pos + 1 < limit && uri.charAt(pos) == delimiter) {
+            end = scan(uri, pos + 1, limit, delimiter, '=');
+            if (end < limit && uri.charAt(end) == '=') {
+              pos++;
+              continue;
+            }
+          }
+          break;
+        }
+        if (variables != null) {
+          variables.set(name, map);
+        }
+      } else {
+        List<String> list = variables != null ? new ArrayList<>() : null;
+        while (true) {
+          if (list != null) {
+            list.add(decode(uri, pos, end));
+          }
+          pos = end;
+          if (pos < limit && uri.charAt(pos) == delimiter) {
+            end = scan(uri, ++pos, limit, delimiter, NONE);
+          } else {
+            break;
+          }
+        }
+        if (variables != null) {
+          variables.set(name, list);
+        }
+      }
+      return pos;
+    }
+  }
+
+  /**
+   * Expression matcher for operators issuing {@code name=value} pairs, e.g {@code {?x,y}}, variables are matched by
+   * name and the pairs that do not name a variable populate the exploded variable of the expression, if any.
+   */
+  static final class Named extends Expression {
+
+    private final String[] names;
+    private final String[] encodedNames;
+    private final boolean[] exploded;
+    private final int explodedIndex;
+
+    Named(UriTemplateImpl.SOperator so, List<UriTemplateImpl.Varspec> varspecs) {
+      super(so, varspecs, true);
+      int size = varspecs.size();
+      String[] names = new String[size];
+      String[] encodedNames = new String[size];
+      boolean[] exploded = new boolean[size];
+      int explodedIndex = -1;
+      for (int i = 0;i < size;i++) {
+        UriTemplateImpl.Varspec varspec = varspecs.get(i);
+        names[i] = varspec.varname;
+        encodedNames[i] = so.encodeName(varspec.decoded);
+        exploded[i] = varspec.exploded;
+        if (varspec.exploded) {
+          if (explodedIndex >= 0) {
+            throw new UnsupportedOperationException("Cannot match the exploded variable " + varspec.varname + " since its expression has several exploded variables");
+          }
+          explodedIndex = i;
+        }
+      }
+      this.names = names;
+      this.encodedNames = encodedNames;
+      this.exploded = exploded;
+      this.explodedIndex = explodedIndex;
+    }
+
+    @Override
+    boolean mayConsume(char ch) {
+      // Pairs are matched by name, so the delimiter does not bound this matcher
+      return allowedSet.contains(ch) || ch == '%';
+    }
+
+    @Override
+    int matchVariables(String uri, int start, int pos, int limit, Variables variables) {
+      Object[] values = new Object[names.length];
+      Map<String, String> map = null;
+      int end = start;
+      while (true) {
+        int nameEnd = scan(uri, pos, limit, '=', delimiter);
+        int idx = indexOf(uri, pos, nameEnd);
+        int valueStart;
+        int valueEnd;
+        if (nameEnd < limit && uri.charAt(nameEnd) == '=') {
+          valueStart = nameEnd + 1;
+          if (idx >= 0 && maxLengths[idx] > 0) {
+            valueEnd = scanPrefix(uri, valueStart, limit, delimiter, ',', maxLengths[idx]);
+          } else {
+            valueEnd = scanList(uri, valueStart, limit, delimiter);
+          }
+        } else {
+          valueStart = valueEnd = nameEnd;
+        }
+        if (idx >= 0 && exploded[idx]) {
+          List<String> list = (List<String>) values[idx];
+          if (list == null) {
+            list = new ArrayList<>();
+            values[idx] = list;
+          }
+          if (variables != null) {
+            list.add(decode(uri, valueStart, valueEnd));
+          }
+        } else if (idx >= 0 && values[idx] == null) {
+          values[idx] = variables != null ? decodeValue(uri, valueStart, valueEnd) : Boolean.TRUE;
+        } else if (explodedIndex >= 0 && nameEnd > pos && values[explodedIndex] == null) {
+          if (map == null) {
+            map = new LinkedHashMap<>();
+          }
+          if (variables != null) {
+            map.put(decode(uri, pos, nameEnd), decode(uri, valueStart, valueEnd));
+          }
+        } else {
+          break;
+        }
+        end = valueEnd;
+        if (end < limit && uri.charAt(end) == delimiter) {
+          pos = end + 1;
+        } else {
+          break;
+        }
+      }
+      if (variables == null) {
+        return end;
+      }
+      if (map != null) {
+        values[explodedIndex] = map;
+      }
+      for (int i = 0;i < values.length;i++) {
+        Object value = values[i];
+        if (value instanceof String) {
+          variables.set(names[i], (String) value);
+        } else if (value instanceof List) {
+          variables.set(names[i], (List<String>) value);
+        } else if (value instanceof Map) {
+          variables.set(names[i], (Map<String, String>) value);
+        }
+      }
+      return end;
+    }
+
+    private int indexOf(String uri, int start, int end) {
+      int length = end - start;
+      for (int i = 0;i < encodedNames.length;i++) {
+        String encodedName = encodedNames[i];
+        if (encodedName.length() == length && uri.regionMatches(start, encodedName, 0, length)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  /**
+   * Matcher reporting a template that cannot be matched without ambiguity.
+   */
+  static final class Unsupported extends Matcher {
+
+    final String message;
+
+    Unsupported(String message) {
+      this.message = message;
+    }
+
+    @Override
+    int match(String uri, int pos, int limit, Variables variables) {
+      throw new UnsupportedOperationException(message);
+    }
+  }
+
+  /**
+   * Decode the pct-encoded triplets of {@code uri} between {@code start} and {@code end} as UTF-8.
+   */
+  static String decode(String uri, int start, int end) {
+    int idx = uri.indexOf('%', start);
+    if (idx < 0 || idx >= end) {
+      return uri.substring(start, end);
+    }
+    byte[] bytes = new byte[end - start];
+    int length = 0;
+    for (int i = start;i < end;i++) {
+      char ch = uri.charAt(i);
+      if (ch == '%' && i + 2 < end && isHEXDIG(uri.charAt(i + 1)) && isHEXDIG(uri.charAt(i + 2))) {
+        bytes[length++] = (byte) ((Character.digit(uri.charAt(i + 1), 16) << 4) | Character.digit(uri.charAt(i + 2), 16));
+        i += 2;
+      } else {
+        bytes[length++] = (byte) ch;
+      }
+    }
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+}
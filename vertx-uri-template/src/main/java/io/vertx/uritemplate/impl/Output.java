@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.uritemplate.spi.UriTemplateMetrics;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The target of a template expansion.
+ *
+ * <p> Expansion only appends characters of the ASCII set since the encoding of templates and values happens before,
+ * so byte based outputs simply narrow each char to a byte.
+ */
+abstract class Output {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  // The metrics of an instrumented expansion, null otherwise
+  UriTemplateMetrics<Object> metrics;
+  Object metric;
+
+  abstract void append(char ch);
+
+  abstract void append(String s);
+
+  abstract void append(CharSequence s, int start, int end);
+
+  /**
+   * Append the decimal digits of a number.
+   */
+  void append(long value) {
+    if (value < 0) {
+      append('-');
+    } else {
+      // Work with negative numbers to handle Long.MIN_VALUE
+      value = -value;
+    }
+    long div = -1;
+    while (div >= value / 10) {
+      div *= 10;
+    }
+    while (div < 0) {
+      append((char) ('0' + value / div));
+      value %= div;
+      div /= 10;
+    }
+  }
+
+  /**
+   * Append the {@code digits} lowest lowercase hexadecimal digits of {@code value}.
+   */
+  void appendHex(long value, int digits) {
+    for (int shift = (digits - 1) * 4;shift >= 0;shift -= 4) {
+      append(HEX_DIGITS[(int) (value >> shift) & 0x0F]);
+    }
+  }
+
+  /**
+   * Append a literal given as a string and as its ASCII bytes, byte based outputs copy the bytes at once.
+   */
+  void appendLiteral(String s, byte[] ascii) {
+    append(s);
+  }
+
+  /**
+   * Report a variable missing from the expanded variables, the expanders call it from the lookup of the variable
+   * value so instrumenting does not look the variables up again.
+   */
+  void variableMissing(String name) {
+    if (metrics != null) {
+      metrics.variableMissing(metric, name);
+    }
+  }
+
+  /**
+   * @return the number of characters of this output
+   */
+  abstract int length();
+
+  static final class StringBuilderOutput extends Output {
+
+    private final StringBuilder sb;
+
+    StringBuilderOutput(StringBuilder sb) {
+      this.sb = sb;
+    }
+
+    @Override
+    void append(char ch) {
+      sb.append(ch);
+    }
+
+    @Override
+    void append(String s) {
+      sb.append(s);
+    }
+
+    @Override
+    void append(CharSequence s, int start, int end) {
+      sb.append(s, start, end);
+    }
+
+    @Override
+    void append(long value) {
+      sb.append(value);
+    }
+
+    @Override
+    int length() {
+      return sb.length();
+    }
+  }
+
+  static final class ByteBufOutput extends Output {
+
+    private final ByteBuf buf;
+
+    ByteBufOutput(ByteBuf buf) {
+      this.buf = buf;
+    }
+
+    @Override
+    void append(char ch) {
+      buf.writeByte(ch);
+    }
+
+    @Override
+    void append(String s) {
+      buf.writeCharSequence(s, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    void append(CharSequence s, int start, int end) {
+      buf.ensureWritable(end - start);
+      int index = buf.writerIndex();
+      for (int i = start;i < end;i++) {
+        buf.setByte(index++, s.charAt(i));
+      }
+      buf.writerIndex(index);
+    }
+
+    @Override
+    void appendLiteral(String s, byte[] ascii) {
+      buf.writeBytes(ascii);
+    }
+
+    @Override
+    int length() {
+      return buf.writerIndex();
+    }
+  }
+
+  static final class BufferOutput extends Output {
+
+    private final Buffer buffer;
+
+    // Narrowed chars of strings and ranges, the buffer slice of BufferInternal#getByteBuf does not advance the buffer
+    private byte[] scratch;
+
+    BufferOutput(Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    void append(char ch) {
+      buffer.appendByte((byte) ch);
+    }
+
+    @Override
+    void append(String s) {
+      append(s, 0, s.length());
+    }
+
+    @Override
+    void append(CharSequence s, int start, int end) {
+      int len = end - start;
+      byte[] bytes = scratch;
+      if (bytes == null || bytes.length < len) {
+        bytes = scratch = new byte[Math.max(len, 64)];
+      }
+      for (int i = 0;i < len;i++) {
+        bytes[i] = (byte) s.charAt(start + i);
+      }
+      buffer.appendBytes(bytes, 0, len);
+    }
+
+    @Override
+    void appendLiteral(String s, byte[] ascii) {
+      buffer.appendBytes(ascii);
+    }
+
+    @Override
+    int length() {
+      return buffer.length();
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.UriTemplateCache;
+import io.vertx.uritemplate.spi.UriTemplateMetrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lookups are lock-free, eviction approximates LRU with the CLOCK algorithm, see {@link ClockCache}.
+ *
+ * <p> A missing template is parsed once, by the thread inserting it, the threads racing for the same template wait
+ * for it and count a hit. So the misses and the parses reported to the metrics match the inserted templates.
+ */
+public class UriTemplateCacheImpl implements UriTemplateCache {
+
+  private final ClockCache<String, UriTemplateImpl> templates;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final UriTemplateMetrics<Object> metrics;
+
+  public UriTemplateCacheImpl(int maxSize) {
+    this(maxSize, null);
+  }
+
+  /**
+   * @param maxSize the maximum number of templates
+   * @param metrics the metrics or {@code null}
+   */
+  public UriTemplateCacheImpl(int maxSize, UriTemplateMetrics<?> metrics) {
+    this.templates = new ClockCache<>(maxSize, this::evicted);
+    this.metrics = (UriTemplateMetrics<Object>) metrics;
+  }
+
+  @Override
+  public UriTemplate get(String uri) {
+    UriTemplateImpl template = templates.get(uri);
+    if (template == null) {
+      UriTemplateImpl[] created = new UriTemplateImpl[1];
+      template = templates.computeIfAbsent(uri, key -> {
+        misses.increment();
+        return created[0] = parse(key);
+      });
+      if (template == created[0]) {
+        if (metrics != null) {
+          metrics.cacheMiss(template.metric());
+        }
+        return template;
+      }
+    }
+    hits.increment();
+    if (metrics != null) {
+      metrics.cacheHit(template.metric());
+    }
+    return template;
+  }
+
+  private UriTemplateImpl parse(String uri) {
+    UriTemplateImpl.Parser parser = new UriTemplateImpl.Parser();
+    return metrics != null ? parser.parseURITemplate(uri, metrics) : parser.parseURITemplate(uri);
+  }
+
+  private void evicted(UriTemplateImpl template) {
+    evictions.increment();
+    if (metrics != null) {
+      metrics.cacheEviction(template.metric());
+    }
+  }
+
+  @Override
+  public int size() {
+    return templates.size();
+  }
+
+  @Override
+  public void clear() {
+    templates.clear();
+  }
+
+  @Override
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  @Override
+  public long missCount() {
+    return misses.sum();
+  }
+
+  @Override
+  public long evictionCount() {
+    return evictions.sum();
+  }
+}
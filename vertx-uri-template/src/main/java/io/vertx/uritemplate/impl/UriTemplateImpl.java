@@ -0,0 +1,1170 @@
+/*
+ * Copyright (c) 2011-2022 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.collection.CharObjectHashMap;
+import io.netty.util.collection.CharObjectMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.uritemplate.ExpandOptions;
+import io.vertx.uritemplate.IndexedVariables;
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.Variables;
+import io.vertx.uritemplate.impl.Output.BufferOutput;
+import io.vertx.uritemplate.impl.Output.ByteBufOutput;
+import io.vertx.uritemplate.impl.Output.StringBuilderOutput;
+import io.vertx.uritemplate.spec.TemplateVariable;
+import io.vertx.uritemplate.spi.UriTemplateMetrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static io.vertx.uritemplate.impl.UriTemplateImpl.Parser.isHEXDIG;
+
+public class UriTemplateImpl implements UriTemplate {
+
+  private static final String HEX_ALPHABET = "0123456789ABCDEF";
+  private static final Buffer NEW_LINE = Buffer.buffer("\n");
+  private static final int DECAY_SAMPLING_MASK = 63;
+
+  /**
+   * The number of expansions to a string after which a template is compiled to a {@link ConcatExpansion}.
+   */
+  public static final int COMPILE_THRESHOLD = 1000;
+
+  /**
+   * A set of ASCII characters backed by a lookup table.
+   */
+  static final class CharSet {
+
+    static final CharSet UNRESERVED = new CharSet(Parser::isUnreserved);
+    static final CharSet LITERALS = new CharSet(ch -> Parser.isUnreserved(ch) || Parser.isReserved(ch));
+
+    private final boolean[] table = new boolean[128];
+
+    private CharSet(Predicate<Character> predicate) {
+      for (char ch = 0;ch < table.length;ch++) {
+        table[ch] = predicate.test(ch);
+      }
+    }
+
+    boolean contains(char ch) {
+      return ch < 128 && table[ch];
+    }
+  }
+
+  public abstract static class Term {
+
+  }
+
+  public abstract static class SOperator {
+
+    final CharSet allowedSet;
+    final boolean allowPctEncoded;
+    final String prefix;
+    final String delimiter;
+    final char[] chars;
+
+    SOperator(CharSet allowedSet, boolean allowPctEncoded, String prefix, String delimiter, char... chars) {
+      this.allowedSet = allowedSet;
+      this.allowPctEncoded = allowPctEncoded;
+      this.prefix = prefix;
+      this.delimiter = delimiter;
+      this.chars = chars;
+    }
+
+    /**
+     * Compute the name part of a non map entry expansion, e.g {@code name=} for form style query expansion.
+     *
+     * @param name the variable name
+     * @param empty whether the expanded value is empty
+     * @return the name part
+     */
+    String namePart(String name, boolean empty) {
+      throw new UnsupportedOperationException();
+    }
+
+    String encodeName(String s) {
+      StringBuilder sb = new StringBuilder();
+      encodeString(s, s.length(), allowedSet, false, new StringBuilderOutput(sb));
+      return sb.toString();
+    }
+  }
+
+  /**
+   * Operator implementation issuing a {@code key=value} only for exploded maps, e.g
+   */
+  private static class Cat1 extends SOperator {
+
+    public Cat1(CharSet allowedSet, boolean allowPctEncoded, String prefix, String delimiter, char... chars) {
+      super(allowedSet, allowPctEncoded, prefix, delimiter, chars);
+    }
+
+    @Override
+    String namePart(String name, boolean empty) {
+      return "";
+    }
+  }
+
+  /**
+   * Operator implementation always issuing as {@code key=value}, e.g form style query expansion
+   */
+  private static class Cat2 extends SOperator {
+
+    public Cat2(CharSet allowedSet, String prefix, String delimiter, char... chars) {
+      super(allowedSet, false, prefix, delimiter, chars);
+    }
+
+    @Override
+    String namePart(String name, boolean empty) {
+      return encodeName(name) + "=";
+    }
+  }
+
+  private static class SimpleStringExpansion extends Cat1 {
+    public SimpleStringExpansion() {
+      super(CharSet.UNRESERVED, false, "", ",");
+    }
+  }
+
+  private static class ReservedExpansion extends Cat1 {
+    public ReservedExpansion() {
+      super(CharSet.LITERALS, true, "", ",", '+');
+    }
+  }
+
+  private static class FragmentExpansion extends Cat1 {
+    public FragmentExpansion() {
+      super(CharSet.LITERALS, true, "#", ",", '#');
+    }
+  }
+
+  private static class LabelExpansionWithDotPrefix extends Cat1 {
+    public LabelExpansionWithDotPrefix() {
+      super(CharSet.UNRESERVED, false, ".", ".", '.');
+    }
+  }
+
+  private static class PathSegmentExpansion extends Cat1 {
+    public PathSegmentExpansion() {
+      super(CharSet.UNRESERVED, false, "/", "/", '/');
+    }
+  }
+
+  private static class PathStyleParameterExpansion extends Cat2 {
+    public PathStyleParameterExpansion() {
+      super(CharSet.UNRESERVED, ";", ";", ';');
+    }
+
+    @Override
+    String namePart(String name, boolean empty) {
+      if (empty) {
+        return encodeName(name);
+      }
+      return super.namePart(name, false);
+    }
+  }
+
+  private static class FormStyleQueryExpansion extends Cat2 {
+    public FormStyleQueryExpansion() {
+      super(CharSet.UNRESERVED, "?", "&", '?');
+    }
+  }
+
+  private static class FormStyleQueryContinuation extends Cat2 {
+    public FormStyleQueryContinuation() {
+      super(CharSet.UNRESERVED, "&", "&", '&');
+    }
+  }
+
+  private static class Future extends SOperator {
+    public Future() {
+      super(CharSet.UNRESERVED, false, "", "", '=', ',', '!', '@', '|');
+    }
+  }
+
+  public enum Operator {
+
+    SIMPLE_STRING_EXPANSION(new SimpleStringExpansion()),
+    RESERVED_EXPANSION(new ReservedExpansion()),
+    LABEL_EXPANSION_WITH_DOT_PREFIX(new LabelExpansionWithDotPrefix()),
+    PATH_SEGMENT_EXPANSION(new PathSegmentExpansion()),
+    PATH_STYLE_PARAMETER_EXPANSION(new PathStyleParameterExpansion()),
+    FORM_STYLE_QUERY_EXPANSION(new FormStyleQueryExpansion()),
+    FORM_STYLE_QUERY_CONTINUATION(new FormStyleQueryContinuation()) ,
+    FRAGMENT_EXPANSION(new FragmentExpansion()),
+    FUTURE(new Future())
+
+    ;
+
+    final SOperator so;
+
+    Operator(SOperator s) {
+      this.so = s;
+    }
+  }
+
+  private static final CharObjectMap<Operator> mapping;
+
+  static {
+    CharObjectMap<Operator> m = new CharObjectHashMap<>();
+    for (Operator op : Operator.values()) {
+      for (char ch : op.so.chars) {
+        m.put(ch, op);
+      }
+    }
+    mapping = m;
+  }
+
+  public static final class Literals extends Term {
+    private final String value;
+    private Literals(String value) {
+      this.value = value;
+    }
+    public String value() {
+      return value;
+    }
+    private Expander compile() {
+      return new Expander.Literal(value);
+    }
+    private Matcher compileMatcher() {
+      return new Matcher.Literal(value);
+    }
+  }
+
+  public static final class Expression extends Term {
+    private final Operator operator;
+    private final List<Varspec> value = new ArrayList<>();
+    public Expression(Operator operator) {
+      this.operator = operator;
+    }
+    /**
+     * @return the operator character or the empty string for a simple string expansion
+     */
+    public String operator() {
+      char[] chars = operator.so.chars;
+      return chars.length > 0 ? String.valueOf(chars[0]) : "";
+    }
+    public List<Varspec> varspecs() {
+      return value;
+    }
+    private Expander compile(VariableSlots slots) {
+      if (value.size() == 1) {
+        return new Expander.SingleVariable(new Expander.Variable(operator.so, value.get(0), slots));
+      }
+      Expander.Variable[] variables = new Expander.Variable[value.size()];
+      for (int i = 0;i < variables.length;i++) {
+        variables[i] = new Expander.Variable(operator.so, value.get(i), slots);
+      }
+      return new Expander.MultiVariable(variables);
+    }
+    /**
+     * @return whether all the variables are defined, empty lists and maps are undefined (RFC 6570 section 2.3)
+     */
+    private boolean isBound(Variables variables) {
+      for (Varspec varspec : value) {
+        Object val = Expander.value(variables, varspec.varname);
+        if (val == null || (val instanceof List && ((List<?>) val).isEmpty()) || (val instanceof Map && ((Map<?, ?>) val).isEmpty())) {
+          return false;
+        }
+      }
+      return true;
+    }
+    private Matcher compileMatcher() {
+      if (operator.so instanceof Cat2) {
+        return new Matcher.Named(operator.so, value);
+      } else {
+        return new Matcher.Positional(operator.so, value);
+      }
+    }
+  }
+
+  public static final class Varspec {
+    public final String varname;
+    public final String decoded;
+    public final int maxLength;
+    public final boolean exploded;
+    private Varspec(String varname, String decoded, int maxLength, boolean exploded) {
+      this.varname = varname;
+      this.decoded = decoded;
+      this.maxLength = maxLength;
+      this.exploded = exploded;
+    }
+  }
+
+  public static class Parser {
+
+    private UriTemplateImpl template;
+    private Expression expression;
+
+    public UriTemplateImpl parseURITemplate(String s) {
+      template = new UriTemplateImpl();
+      if (parseURITemplate(s, 0) != s.length()) {
+        throw new IllegalArgumentException();
+      }
+      template.compile();
+      return template;
+    }
+
+    /**
+     * Like {@link #parseURITemplate(String)} but reports to {@code metrics}.
+     */
+    public UriTemplateImpl parseURITemplate(String s, UriTemplateMetrics<?> metrics) {
+      long start = System.nanoTime();
+      UriTemplateImpl template;
+      try {
+        template = parseURITemplate(s);
+      } catch (IllegalArgumentException e) {
+        metrics.parseFailed(s, System.nanoTime() - start);
+        throw e;
+      }
+      template.metrics = (UriTemplateMetrics<Object>) metrics;
+      template.metric = metrics.templateParsed(s, System.nanoTime() - start);
+      return template;
+    }
+
+    public int parseURITemplate(String s, int pos) {
+      while (true) {
+        int idx = parseLiterals(s, pos);
+        if (idx > pos) {
+          template.terms.add(new Literals(literals.toString()));
+          pos = idx;
+        } else {
+          idx = parseExpression(s, pos);
+          if (idx > pos) {
+            pos = idx;
+          } else {
+            break;
+          }
+        }
+      }
+      return pos;
+    }
+
+    public int parseExpression(String s, int pos) {
+      if (pos < s.length() && s.charAt(pos) == '{') {
+        if (template != null && s.indexOf('}', pos + 1) < 0) {
+          throw new IllegalArgumentException("Unterminated expression at position " + pos);
+        }
+        int idx = pos + 1;
+        Operator operator;
+        if (idx < s.length() && isOperator(s.charAt(idx))) {
+          operator = mapping.get(s.charAt(idx));
+          idx++;
+        } else {
+          operator = Operator.SIMPLE_STRING_EXPANSION;
+        }
+        expression = new Expression(operator);
+        idx = parseVariableList(s, idx);
+        if (idx < s.length() && s.charAt(idx) == '}') {
+          pos = idx + 1;
+        }
+        if (template != null) {
+          if (operator == Operator.FUTURE) {
+            throw new IllegalArgumentException("Invalid reserved operator");
+          }
+          if (expression.value.isEmpty()) {
+            throw new IllegalArgumentException("Invalid empty expression");
+          }
+          template.terms.add(expression);
+        }
+        expression = null;
+      }
+      return pos;
+    }
+
+    private static boolean isALPHA(char ch) {
+      return ('A' <= ch && ch <= 'Z')
+        || ('a'<= ch && ch <= 'z');
+    }
+
+    private int digit;
+
+    public int parseDIGIT(String s, int pos) {
+      char c;
+      if (pos < s.length() && isDIGIT(c = s.charAt(pos))) {
+        digit = c - '0';
+        pos++;
+      }
+      return pos;
+    }
+
+    private static boolean isDIGIT(char ch) {
+      return ('0' <= ch && ch <= '9');
+    }
+
+    static boolean isHEXDIG(char ch) {
+      return isDIGIT(ch) || ('A' <= ch && ch <= 'F') || ('a' <= ch && ch <= 'f');
+    }
+
+    private int pctEncoded;
+
+    /**
+     * Parse the pct-encoded UTF-8 sequence of a single code point, e.g {@code %E2%82%AC}, an invalid sequence
+     * is decoded as the replacement character.
+     */
+    private int parsePctEncoded(String s, int pos) {
+      int b = parsePctEncodedByte(s, pos);
+      if (b < 0) {
+        return pos;
+      }
+      int length;
+      int cp;
+      if (b < 0x80) {
+        pctEncoded = b;
+        return pos + 3;
+      } else if ((b & 0xE0) == 0xC0) {
+        length = 2;
+        cp = b & 0x1F;
+      } else if ((b & 0xF0) == 0xE0) {
+        length = 3;
+        cp = b & 0x0F;
+      } else if ((b & 0xF8) == 0xF0) {
+        length = 4;
+        cp = b & 0x07;
+      } else {
+        pctEncoded = 0xFFFD;
+        return pos + 3;
+      }
+      int idx = pos + 3;
+      for (int i = 1;i < length;i++) {
+        b = parsePctEncodedByte(s, idx);
+        if (b < 0 || (b & 0xC0) != 0x80) {
+          pctEncoded = 0xFFFD;
+          return pos + 3;
+        }
+        cp = (cp << 6) | (b & 0x3F);
+        idx += 3;
+      }
+      pctEncoded = cp;
+      return idx;
+    }
+
+    private static int parsePctEncodedByte(String s, int pos) {
+      if (pos + 2 < s.length() && s.charAt(pos) == '%') {
+        int high = hexValue(s.charAt(pos + 1));
+        int low = hexValue(s.charAt(pos + 2));
+        if (high >= 0 && low >= 0) {
+          return (high << 4) | low;
+        }
+      }
+      return -1;
+    }
+
+    private static int hexValue(char ch) {
+      if (isDIGIT(ch)) {
+        return ch - '0';
+      } else if ('A' <= ch && ch <= 'F') {
+        return ch - 'A' + 10;
+      } else if ('a' <= ch && ch <= 'f') {
+        return ch - 'a' + 10;
+      } else {
+        return -1;
+      }
+    }
+
+    private static boolean isUnreserved(char ch) {
+      return isALPHA(ch) || isDIGIT(ch) || ch == '-' || ch == '.' || ch == '_' || ch == '~';
+    }
+
+    private static boolean isReserved(char ch) {
+      return isGenDelims(ch) || isSubDelims(ch);
+    }
+
+    private static boolean isGenDelims(char ch) {
+      return ch == ':' || ch == '/' || ch == '?' || ch == '#' || ch == '[' || ch == ']' || ch == '@';
+    }
+
+    private static boolean isSubDelims(char ch) {
+      return ch == '!' || ch == '$' || ch == '&' || ch == '\'' || ch == '(' || ch == ')' || ch == '*' || ch == '+' || ch == ',' || ch == ';' || ch == '=';
+    }
+
+    private static boolean isIprivate(int cp) {
+      return (0xE000 <= cp && cp <= 0xF8FF)
+        || (0xF0000 <= cp && cp <= 0xFFFFD)
+        || (0x100000 <= cp && cp <= 0x10FFFD);
+    }
+
+    private static boolean isUcschar(int cp) {
+      return (0xA0 <= cp && cp <= 0xD7FF)
+        || (0xF900 <= cp && cp <= 0xFDCF)
+        || (0xFDF0 <= cp && cp <= 0xFFEF)
+        || (0x10000 <= cp && cp <= 0x1FFFD)
+        || (0x20000 <= cp && cp <= 0x2FFFD)
+        || (0x30000 <= cp && cp <= 0x3FFFD)
+        || (0x40000 <= cp && cp <= 0x4FFFD)
+        || (0x50000 <= cp && cp <= 0x5FFFD)
+        || (0x60000 <= cp && cp <= 0x6FFFD)
+        || (0x70000 <= cp && cp <= 0x7FFFD)
+        || (0x80000 <= cp && cp <= 0x8FFFD)
+        || (0x90000 <= cp && cp <= 0x9FFFD)
+        || (0xA0000 <= cp && cp <= 0xAFFFD)
+        || (0xB0000 <= cp && cp <= 0xBFFFD)
+        || (0xC0000 <= cp && cp <= 0xCFFFD)
+        || (0xD0000 <= cp && cp <= 0xDFFFD)
+        || (0xE1000 <= cp && cp <= 0xEFFFD);
+    }
+
+    public final StringBuilder literals = new StringBuilder();
+    private final Output literalsOutput = new StringBuilderOutput(literals);
+
+    public int parseLiterals(String s, int pos) {
+      literals.setLength(0);
+      // Start of the run of characters copied as is
+      int run = pos;
+      while (pos < s.length()) {
+        char ch = s.charAt(pos);
+        if (isLiteral(ch)) {
+          pos++;
+          continue;
+        }
+        literals.append(s, run, pos);
+        run = pos;
+        if (Character.isSurrogate(ch)) {
+          if (pos + 1 >= s.length()) {
+            throw new IllegalArgumentException();
+          }
+          int cp = s.codePointAt(pos);
+          if (isUcschar(cp) || isIprivate(cp)) {
+            pctEncode(cp, literalsOutput);
+            pos += 2;
+          } else {
+            break;
+          }
+        } else {
+          int idx = parsePctEncoded(s, pos);
+          if (idx == pos) {
+            break;
+          }
+          // Directly insert as this is allowed
+          literals.append(s, pos, idx);
+          pos = idx;
+        }
+        run = pos;
+      }
+      literals.append(s, run, pos);
+      return pos;
+    }
+
+    private static boolean isLiteral(char ch) {
+      return ch == 0x21
+        || (0x23 <= ch && ch <= 0x24)
+        || ch == 0x26
+        || (0x28 <= ch && ch <= 0x3B)
+        || ch == 0x3D
+        || (0x3F <= ch && ch <= 0x5B)
+        || ch == 0x5D
+        || ch == 0x5F
+        || (0x61 <= ch && ch <= 0x7A)
+        || ch == 0x7E;
+    }
+
+    private static boolean isOperator(char ch) {
+      return isOpLevel2(ch) || isOpLevel3(ch) || isOpReserve(ch);
+    }
+
+    private static boolean isOpLevel2(char ch) {
+      return ch == '+' || ch == '#';
+    }
+
+    private static boolean isOpLevel3(char ch) {
+      return ch == '.' || ch == '/' || ch == ';' || ch == '?' || ch == '&';
+    }
+
+    private static boolean isOpReserve(char ch) {
+      return ch == '=' || ch == ',' || ch == '!' || ch == '@' || ch == '|';
+    }
+
+    public int parseVariableList(String s, int pos) {
+      int idx = parseVarspec(s, pos);
+      if (idx > pos) {
+        if (expression != null) {
+          expression.value.add(varspec);
+        }
+        pos = idx;
+        while (pos < s.length() && s.charAt(pos) == ',' && (idx = parseVarspec(s, pos + 1)) > pos + 1) {
+          if (expression != null) {
+            expression.value.add(varspec);
+          }
+          pos = idx;
+        }
+      }
+      return pos;
+    }
+
+    public Varspec varspec;
+
+    public int parseVarspec(String s, int pos) {
+      varspec = null;
+      int idx = parseVarname(s, pos);
+      if (idx > pos) {
+        String varname = s.substring(pos, idx);
+        String decoded = decodedVarname ? sb.toString() : varname;
+        pos = parseModifierLevel4(s, idx);
+        varspec = new Varspec(varname, decoded, maxLength, exploded);
+      }
+      return pos;
+    }
+
+    private final StringBuilder sb = new StringBuilder();
+    private boolean decodedVarname;
+
+    public int parseVarname(String s, int pos) {
+      sb.setLength(0);
+      decodedVarname = false;
+      int idx = parseVarchar(s, pos);
+      while (idx > pos) {
+        pos = idx;
+        if (pos < s.length() && s.charAt(pos) == '.') {
+          sb.append('.');
+          int j = parseVarchar(s, pos + 1);
+          if (j > pos + 1) {
+            idx = j;
+          } else {
+            sb.setLength(sb.length() - 1);
+          }
+        } else {
+          idx = parseVarchar(s, pos);
+        }
+      }
+      return idx;
+    }
+
+    private int parseVarchar(String s, int pos) {
+      if (pos < s.length()) {
+        char ch = s.charAt(pos);
+        if (isALPHA(ch) || isDIGIT(ch) || ch == '_')  {
+          sb.append(ch);
+          pos++;
+        } else {
+          int idx = parsePctEncoded(s, pos);
+          if (idx > pos) {
+            sb.appendCodePoint(pctEncoded);
+            decodedVarname = true;
+            pos = idx;
+          }
+        }
+      }
+      return pos;
+    }
+
+    private boolean exploded;
+
+    public int parseModifierLevel4(String s, int pos) {
+      exploded = false;
+      maxLength = -1;
+      int idx = parsePrefixModifier(s, pos);
+      if (idx > pos) {
+        pos = idx;
+      } else if (pos < s.length() && isExplode(s.charAt(pos))) {
+        exploded = true;
+        pos++;
+      }
+      return pos;
+    }
+
+    public int parsePrefixModifier(String s, int pos) {
+      if (pos < s.length() && s.charAt(pos) == ':') {
+        int idx = parseMaxLength(s, pos + 1);
+        if (idx > pos + 1) {
+          pos = idx;
+        }
+      }
+      return pos;
+    }
+
+    private int maxLength;
+
+    public int parseMaxLength(String s, int pos) {
+      if (pos < s.length()) {
+        char ch = s.charAt(pos);
+        if ('1' <= ch && ch <= '9') {
+          pos++;
+          maxLength = ch - '0';
+          for (int i = 0;i < 3;i++) {
+            if (parseDIGIT(s, pos) > pos) {
+              maxLength = maxLength * 10 + digit;
+              pos++;
+            }
+          }
+        }
+      }
+      return pos;
+    }
+
+    private static boolean isExplode(char ch) {
+      return ch == '*';
+    }
+  }
+
+  private final List<Term> terms = new ArrayList<>();
+  private VariableSlots slots;
+  private Expander[] expanders;
+  private Matcher[] matchers;
+
+  // The length of the literals, the expansion cannot be shorter
+  private int literalLength;
+
+  // The expansion of a template without expressions
+  private String constant;
+
+  // Decayed max of the expansion lengths, updated without synchronization since a lost update only affects the
+  // accuracy of the estimate, it is only written when an expansion outgrows it or when a decay is sampled so a
+  // template shared by event loops is read-mostly
+  private int sizeEstimate;
+
+  // Null when the template is not instrumented
+  private UriTemplateMetrics<Object> metrics;
+  private Object metric;
+
+  // Null when the expansions are not memoized
+  private ExpansionMemo memo;
+
+  // Count of the expansions to a string until the template is compiled, updated without synchronization since a
+  // lost update only delays the compilation and it is not written anymore once the threshold is passed
+  private int expansions;
+
+  // Null when the template is not hot yet or cannot be compiled
+  private ConcatExpansion concat;
+
+  /**
+   * Compile the terms to expanders and matchers, this shall be called once the template is parsed.
+   */
+  private void compile() {
+    List<String> names = new ArrayList<>();
+    for (Term term : terms) {
+      if (term instanceof Expression) {
+        for (Varspec varspec : ((Expression) term).value) {
+          if (!names.contains(varspec.varname)) {
+            names.add(varspec.varname);
+          }
+        }
+      }
+    }
+    VariableSlots slots = new VariableSlots(names);
+    Expander[] expanders = new Expander[terms.size()];
+    Matcher[] matchers = new Matcher[terms.size()];
+    int literalLength = 0;
+    int expressions = 0;
+    for (int i = 0;i < expanders.length;i++) {
+      Term term = terms.get(i);
+      if (term instanceof Literals) {
+        expanders[i] = ((Literals) term).compile();
+        literalLength += ((Literals) term).value.length();
+      } else {
+        expanders[i] = ((Expression) term).compile(slots);
+        expressions++;
+      }
+    }
+    try {
+      for (int i = 0;i < matchers.length;i++) {
+        Term term = terms.get(i);
+        if (term instanceof Literals) {
+          matchers[i] = ((Literals) term).compileMatcher();
+        } else {
+          matchers[i] = ((Expression) term).compileMatcher();
+        }
+      }
+    } catch (UnsupportedOperationException e) {
+      // Report it when matching since the template is still valid for expansion
+      matchers = new Matcher[] { new Matcher.Unsupported(e.getMessage()) };
+    }
+    this.slots = slots;
+    this.expanders = expanders;
+    this.matchers = matchers;
+    this.literalLength = literalLength;
+    this.sizeEstimate = literalLength + 16 * expressions;
+    if (expressions == 0) {
+      StringBuilder sb = new StringBuilder(literalLength);
+      for (Term term : terms) {
+        sb.append(((Literals) term).value);
+      }
+      constant = sb.toString();
+    }
+  }
+
+  public List<Term> terms() {
+    return terms;
+  }
+
+  /**
+   * Create the expansion of a single variable outside a template, see {@link TemplateVariable#of}.
+   */
+  public static TemplateVariable variable(String operator, String varname, int maxLength, boolean exploded) {
+    if (maxLength > 0 && exploded) {
+      throw new IllegalArgumentException("Variable " + varname + " cannot have a prefix modifier and be exploded");
+    }
+    // Parse the expression of the variable, so the operator and the variable are validated like in a template
+    StringBuilder expression = new StringBuilder("{").append(operator).append(varname);
+    if (maxLength > 0) {
+      expression.append(':').append(maxLength);
+    } else if (exploded) {
+      expression.append('*');
+    }
+    UriTemplateImpl template = new Parser().parseURITemplate(expression.append('}').toString());
+    if (template.terms.size() != 1 || !(template.terms.get(0) instanceof Expression)
+      || ((Expression) template.terms.get(0)).value.size() != 1) {
+      throw new IllegalArgumentException("Invalid variable " + operator + varname);
+    }
+    Expression term = (Expression) template.terms.get(0);
+    return new Expander.Variable(term.operator.so, term.value.get(0), new VariableSlots(Collections.singletonList(varname)));
+  }
+
+  @Override
+  public UriTemplate bind(Variables variables) {
+    UriTemplateImpl bound = new UriTemplateImpl();
+    StringBuilder literals = new StringBuilder();
+    for (int i = 0;i < expanders.length;i++) {
+      Term term = terms.get(i);
+      if (term instanceof Literals) {
+        literals.append(((Literals) term).value);
+      } else if (((Expression) term).isBound(variables)) {
+        // The expansion is made of literal characters
+        expanders[i].expand(variables, false, new StringBuilderOutput(literals));
+      } else {
+        if (literals.length() > 0) {
+          bound.terms.add(new Literals(literals.toString()));
+          literals.setLength(0);
+        }
+        bound.terms.add(term);
+      }
+    }
+    if (literals.length() > 0) {
+      bound.terms.add(new Literals(literals.toString()));
+    }
+    bound.compile();
+    bound.metrics = metrics;
+    bound.metric = metric;
+    return bound;
+  }
+
+  @Override
+  public UriTemplate memoized(int maxSize) {
+    UriTemplateImpl memoized = new UriTemplateImpl();
+    memoized.terms.addAll(terms);
+    memoized.compile();
+    memoized.metrics = metrics;
+    memoized.metric = metric;
+    memoized.memo = new ExpansionMemo(memoized.slots, maxSize);
+    return memoized;
+  }
+
+  @Override
+  public int variableIndex(String name) {
+    return slots.indexOf(name);
+  }
+
+  @Override
+  public IndexedVariables newVariables() {
+    return new IndexedVariablesImpl(slots);
+  }
+
+  @Override
+  public int sizeHint() {
+    return sizeEstimate;
+  }
+
+  /**
+   * Update the size estimate with the length of an expansion: the estimate jumps to a longer expansion and decays
+   * slowly toward shorter ones, so a few short expansions do not undersize the next long one. The decay is applied
+   * to one shorter expansion out of {@code DECAY_SAMPLING_MASK + 1} on average, drawn from a thread local random
+   * so sampling does not write shared state either.
+   */
+  private void updateSizeEstimate(int length) {
+    int estimate = sizeEstimate;
+    if (length > estimate) {
+      sizeEstimate = length;
+    } else if (length < estimate && (ThreadLocalRandom.current().nextInt() & DECAY_SAMPLING_MASK) == 0) {
+      sizeEstimate = Math.max(literalLength, estimate - ((estimate - length) >> 2));
+    }
+  }
+
+  Matcher[] matchers() {
+    return matchers;
+  }
+
+  Object metric() {
+    return metric;
+  }
+
+  @Override
+  public Variables match(String uri) {
+    Variables variables = Variables.variables();
+    return Matcher.match(matchers, 0, uri, 0, variables) ? variables : null;
+  }
+
+  @Override
+  public String expandToString(Variables variables, ExpandOptions options) {
+    return expandToString(variables, options.getAllowVariableMiss());
+  }
+
+  @Override
+  public String expandToString(Variables variables) {
+    return expandToString(variables, true);
+  }
+
+  @Override
+  public StringBuilder expandTo(Variables variables, StringBuilder sb) {
+    expandTo(variables, true, new StringBuilderOutput(sb));
+    return sb;
+  }
+
+  @Override
+  public StringBuilder expandTo(Variables variables, ExpandOptions options, StringBuilder sb) {
+    expandTo(variables, options.getAllowVariableMiss(), new StringBuilderOutput(sb));
+    return sb;
+  }
+
+  @Override
+  public Buffer expandToBuffer(Variables variables) {
+    return expandToBuffer(variables, true);
+  }
+
+  @Override
+  public Buffer expandToBuffer(Variables variables, ExpandOptions options) {
+    return expandToBuffer(variables, options.getAllowVariableMiss());
+  }
+
+  @Override
+  public Buffer expandTo(Variables variables, Buffer buffer) {
+    expandTo(variables, true, new BufferOutput(buffer));
+    return buffer;
+  }
+
+  @Override
+  public Buffer expandTo(Variables variables, ExpandOptions options, Buffer buffer) {
+    expandTo(variables, options.getAllowVariableMiss(), new BufferOutput(buffer));
+    return buffer;
+  }
+
+  /**
+   * Expand this template to a Netty {@code ByteBuf}, each character of the expansion is written as an ASCII byte.
+   *
+   * @param variables the variables
+   * @param options the options to control template expansion
+   * @param buf the buffer to write the expansion to
+   * @return a reference to {@code buf}
+   */
+  public ByteBuf expandTo(Variables variables, ExpandOptions options, ByteBuf buf) {
+    expandTo(variables, options.getAllowVariableMiss(), new ByteBufOutput(buf));
+    return buf;
+  }
+
+  @Override
+  public List<String> expandAll(Iterable<Variables> variables) {
+    return expandAll(variables, true);
+  }
+
+  @Override
+  public List<String> expandAll(Iterable<Variables> variables, ExpandOptions options) {
+    return expandAll(variables, options.getAllowVariableMiss());
+  }
+
+  @Override
+  public Stream<String> expandAll(Stream<Variables> variables) {
+    return expandAll(variables, true);
+  }
+
+  @Override
+  public Stream<String> expandAll(Stream<Variables> variables, ExpandOptions options) {
+    return expandAll(variables, options.getAllowVariableMiss());
+  }
+
+  @Override
+  public ReadStream<Buffer> expandStream(ReadStream<Variables> variables) {
+    return new ExpansionStream(this, variables, NEW_LINE);
+  }
+
+  @Override
+  public ReadStream<Buffer> expandStream(ReadStream<Variables> variables, Buffer delimiter) {
+    return new ExpansionStream(this, variables, delimiter);
+  }
+
+  private List<String> expandAll(Iterable<Variables> variables, boolean allowVariableMiss) {
+    List<String> expansions = variables instanceof Collection ? new ArrayList<>(((Collection<?>) variables).size()) : new ArrayList<>();
+    StringBuilder sb = new StringBuilder(sizeEstimate);
+    Output out = new StringBuilderOutput(sb);
+    for (Variables v : variables) {
+      sb.setLength(0);
+      expandTo(v, allowVariableMiss, out);
+      expansions.add(sb.toString());
+    }
+    return expansions;
+  }
+
+  private Stream<String> expandAll(Stream<Variables> variables, boolean allowVariableMiss) {
+    // A sequential stream keeps reusing the same builder, a parallel stream creates a builder per concurrent expansion
+    AtomicReference<StringBuilder> available = new AtomicReference<>();
+    return variables.map(v -> {
+      StringBuilder sb = available.getAndSet(null);
+      if (sb == null) {
+        sb = new StringBuilder(sizeEstimate);
+      } else {
+        sb.setLength(0);
+      }
+      expandTo(v, allowVariableMiss, new StringBuilderOutput(sb));
+      String expansion = sb.toString();
+      available.set(sb);
+      return expansion;
+    });
+  }
+
+  private String expandToString(Variables variables, boolean allowVariableMiss) {
+    if (constant != null) {
+      if (metrics != null) {
+        metrics.templateExpanded(metric, constant.length(), 0L);
+      }
+      return constant;
+    }
+    if (memo != null) {
+      Object key = memo.key(variables, allowVariableMiss);
+      if (key != null) {
+        String expansion = memo.get(key);
+        if (expansion == null) {
+          expansion = expand(variables, allowVariableMiss);
+          memo.put(key, expansion);
+        } else if (metrics != null) {
+          metrics.templateExpanded(metric, expansion.length(), 0L);
+        }
+        return expansion;
+      }
+    }
+    return expand(variables, allowVariableMiss);
+  }
+
+  private String expand(Variables variables, boolean allowVariableMiss) {
+    if (metrics == null) {
+      ConcatExpansion concat = this.concat;
+      if (concat != null) {
+        String expansion = concat.expand(variables, allowVariableMiss);
+        if (expansion != null) {
+          return expansion;
+        }
+      } else {
+        int count = expansions;
+        if (count <= COMPILE_THRESHOLD) {
+          expansions = count + 1;
+          if (count == COMPILE_THRESHOLD) {
+            // Compiled at most a few times by racing threads, the compiled expansion is immutable
+            this.concat = ConcatExpansion.compile(expanders);
+          }
+        }
+      }
+    }
+    StringBuilder sb = new StringBuilder(sizeEstimate);
+    expandTo(variables, allowVariableMiss, new StringBuilderOutput(sb));
+    return sb.toString();
+  }
+
+  private Buffer expandToBuffer(Variables variables, boolean allowVariableMiss) {
+    ByteBuf buf = Unpooled.buffer(sizeEstimate);
+    expandTo(variables, allowVariableMiss, new ByteBufOutput(buf));
+    return BufferInternal.buffer(buf);
+  }
+
+  private void expandTo(Variables variables, boolean allowVariableMiss, Output out) {
+    if (metrics != null) {
+      expandToInstrumented(variables, allowVariableMiss, out);
+      return;
+    }
+    int start = out.length();
+    for (Expander expander : expanders) {
+      expander.expand(variables, allowVariableMiss, out);
+    }
+    updateSizeEstimate(out.length() - start);
+  }
+
+  private void expandToInstrumented(Variables variables, boolean allowVariableMiss, Output out) {
+    out.metrics = metrics;
+    out.metric = metric;
+    long startTime = System.nanoTime();
+    int start = out.length();
+    for (Expander expander : expanders) {
+      expander.expand(variables, allowVariableMiss, out);
+    }
+    int length = out.length() - start;
+    metrics.templateExpanded(metric, length, System.nanoTime() - startTime);
+    updateSizeEstimate(length);
+  }
+
+  static void encodeString(CharSequence s, int end, CharSet allowedSet, boolean allowPctEncoded, Output buff) {
+    int i = 0;
+    while (i < end) {
+      // Copy the run of allowed characters at once, values are often made of allowed characters only
+      int start = i;
+      while (i < end && allowedSet.contains(s.charAt(i))) {
+        i++;
+      }
+      if (i > start) {
+        if (start == 0 && i == s.length() && s instanceof String) {
+          buff.append((String) s);
+        } else {
+          buff.append(s, start, i);
+        }
+        if (i == end) {
+          break;
+        }
+      }
+      char ch = s.charAt(i++);
+      if (Character.isHighSurrogate(ch) && i < end && Character.isLowSurrogate(s.charAt(i))) {
+        pctEncode(Character.toCodePoint(ch, s.charAt(i++)), buff);
+      } else if (Character.isSurrogate(ch)) {
+        // Malformed, replaced like String#getBytes does
+        pctEncode('?', buff);
+      } else if (allowPctEncoded && ch == '%' && i + 1 < end && isHEXDIG(s.charAt(i)) && isHEXDIG(s.charAt(i + 1))) {
+        buff.append(s, i - 1, i + 2);
+        i+= 2;
+      } else {
+        pctEncode(ch, buff);
+      }
+    }
+  }
+
+  private static final String[] PCT_ENCODED = new String[256];
+
+  static {
+    for (int b = 0;b < PCT_ENCODED.length;b++) {
+      PCT_ENCODED[b] = "%" + HEX_ALPHABET.charAt(b >> 4) + HEX_ALPHABET.charAt(b & 0x0F);
+    }
+  }
+
+  /**
+   * Percent-encode the UTF-8 encoding of a code point.
+   */
+  private static void pctEncode(int cp, Output buff) {
+    if (cp < 0x80) {
+      buff.append(PCT_ENCODED[cp]);
+    } else if (cp < 0x800) {
+      buff.append(PCT_ENCODED[0xC0 | (cp >> 6)]);
+      buff.append(PCT_ENCODED[0x80 | (cp & 0x3F)]);
+    } else if (cp < 0x10000) {
+      buff.append(PCT_ENCODED[0xE0 | (cp >> 12)]);
+      buff.append(PCT_ENCODED[0x80 | ((cp >> 6) & 0x3F)]);
+      buff.append(PCT_ENCODED[0x80 | (cp & 0x3F)]);
+    } else {
+      buff.append(PCT_ENCODED[0xF0 | (cp >> 18)]);
+      buff.append(PCT_ENCODED[0x80 | ((cp >> 12) & 0x3F)]);
+      buff.append(PCT_ENCODED[0x80 | ((cp >> 6) & 0x3F)]);
+      buff.append(PCT_ENCODED[0x80 | (cp & 0x3F)]);
+    }
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.netty.util.collection.CharObjectHashMap;
+import io.netty.util.collection.CharObjectMap;
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.UriTemplateIndex;
+import io.vertx.uritemplate.UriTemplateMatch;
+import io.vertx.uritemplate.Variables;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A prefix tree of the template matchers: literals are split into one node per character and expressions are edges
+ * shared by the templates having an expression of the same shape at the same position, e.g {@code /users/{id}} and
+ * {@code /users/{userId}/posts} share the edge of their first expression.
+ *
+ * <p> An expression is bounded by the term that follows it (see {@link Matcher#limit}), so an edge is only shared by
+ * templates bounding the expression the same way, this keeps the walk of the tree equivalent to the matching of each
+ * template. The tree is walked depth first, character edges before expression edges, without capturing the values:
+ * the template of the reached leaf captures them with its own variable names, when it does not match the walk goes
+ * on with the next candidate.
+ */
+public class UriTemplateIndexImpl implements UriTemplateIndex {
+
+  private static final class Node {
+    private final CharObjectMap<Node> children = new CharObjectHashMap<>();
+    private final List<Edge> edges = new ArrayList<>();
+    private final List<UriTemplateImpl> templates = new ArrayList<>();
+  }
+
+  private static final class Edge {
+    private final String key;
+    private final Matcher.Expression expression;
+    // The matcher bounding the expression or null when the expression is not bounded
+    private final Matcher bound;
+    private final boolean last;
+    private final Node child = new Node();
+    private Edge(String key, Matcher.Expression expression, Matcher bound, boolean last) {
+      this.key = key;
+      this.expression = expression;
+      this.bound = bound;
+      this.last = last;
+    }
+  }
+
+  private static final class Match implements UriTemplateMatch {
+    private final UriTemplate template;
+    private final Variables variables;
+    private Match(UriTemplate template, Variables variables) {
+      this.template = template;
+      this.variables = variables;
+    }
+    @Override
+    public UriTemplate template() {
+      return template;
+    }
+    @Override
+    public Variables variables() {
+      return variables;
+    }
+  }
+
+  private final Node root = new Node();
+  private final int size;
+
+  public UriTemplateIndexImpl(List<UriTemplate> templates) {
+    for (UriTemplate template : templates) {
+      add((UriTemplateImpl) template);
+    }
+    this.size = templates.size();
+  }
+
+  private void add(UriTemplateImpl template) {
+    Matcher[] matchers = template.matchers();
+    Node node = root;
+    for (int i = 0;i < matchers.length;i++) {
+      Matcher matcher = matchers[i];
+      if (matcher instanceof Matcher.Literal) {
+        String value = ((Matcher.Literal) matcher).value;
+        for (int j = 0;j < value.length();j++) {
+          char ch = value.charAt(j);
+          Node child = node.children.get(ch);
+          if (child == null) {
+            child = new Node();
+            node.children.put(ch, child);
+          }
+          node = child;
+        }
+      } else if (matcher instanceof Matcher.Expression) {
+        node = edge(node, (Matcher.Expression) matcher, i + 1 < matchers.length ? matchers[i + 1] : null, i + 2 == matchers.length).child;
+      } else {
+        throw new IllegalArgumentException(((Matcher.Unsupported) matcher).message);
+      }
+    }
+    node.templates.add(template);
+  }
+
+  private static Edge edge(Node node, Matcher.Expression expression, Matcher next, boolean last) {
+    String key = expression.shape;
+    Matcher bound = null;
+    if (next instanceof Matcher.Literal) {
+      String value = ((Matcher.Literal) next).value;
+      // A literal terminating the template always bounds the expression, see Literal#limit
+      if (last || expression.mayConsume(value.charAt(0))) {
+        bound = next;
+        key += last ? "$" + value : "|" + value;
+      }
+    } else if (next instanceof Matcher.Expression) {
+      String prefix = ((Matcher.Expression) next).prefix;
+      if (!prefix.isEmpty() && expression.mayConsume(prefix.charAt(0))) {
+        bound = next;
+        // Literals have no braces, an expression bound is not mistaken for a literal bound
+        key += "|{" + prefix.charAt(0);
+      }
+    }
+    for (Edge edge : node.edges) {
+      if (edge.key.equals(key)) {
+        return edge;
+      }
+    }
+    Edge edge = new Edge(key, expression, bound, last);
+    node.edges.add(edge);
+    return edge;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public UriTemplateMatch match(String uri) {
+    return match(root, uri, 0);
+  }
+
+  private static UriTemplateMatch match(Node node, String uri, int pos) {
+    int length = uri.length();
+    // Follow the characters until the tree branches
+    while (node.edges.isEmpty()) {
+      if (pos == length) {
+        return match(node.templates, uri);
+      }
+      node = node.children.get(uri.charAt(pos));
+      if (node == null) {
+        return null;
+      }
+      pos++;
+    }
+    if (pos == length) {
+      UriTemplateMatch match = match(node.templates, uri);
+      if (match != null) {
+        return match;
+      }
+    } else {
+      Node child = node.children.get(uri.charAt(pos));
+      if (child != null) {
+        UriTemplateMatch match = match(child, uri, pos + 1);
+        if (match != null) {
+          return match;
+        }
+      }
+    }
+    for (Edge edge : node.edges) {
+      int limit = edge.bound != null ? edge.bound.limit(uri, pos, edge.expression, edge.last) : length;
+      if (limit >= 0) {
+        int end = edge.expression.match(uri, pos, limit, null);
+        if (end >= 0) {
+          UriTemplateMatch match = match(edge.child, uri, end);
+          if (match != null) {
+            return match;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Capture the variables with the first template of a leaf matching the {@code uri}, the walk goes on with the
+   * next candidate when none does.
+   */
+  private static UriTemplateMatch match(List<UriTemplateImpl> templates, String uri) {
+    for (UriTemplateImpl template : templates) {
+      Variables variables = template.match(uri);
+      if (variables != null) {
+        return new Match(template, variables);
+      }
+    }
+    return null;
+  }
+}
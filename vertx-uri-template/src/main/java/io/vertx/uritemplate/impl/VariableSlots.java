@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The slots of the variables referenced by a template, in the order of their first reference.
+ */
+final class VariableSlots {
+
+  final String[] names;
+  private final Map<String, Integer> index;
+
+  VariableSlots(List<String> names) {
+    this.names = names.toArray(new String[0]);
+    this.index = new HashMap<>(names.size() * 2);
+    for (int i = 0;i < this.names.length;i++) {
+      index.put(this.names[i], i);
+    }
+  }
+
+  int indexOf(String name) {
+    Integer idx = index.get(name);
+    return idx != null ? idx : -1;
+  }
+}
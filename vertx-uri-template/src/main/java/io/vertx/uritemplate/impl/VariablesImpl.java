@@ -20,6 +20,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 public class VariablesImpl implements Variables {
 
@@ -31,6 +32,16 @@ public class VariablesImpl implements Variables {
     }
   }
 
+  /**
+   * @return the string form of a single value, a list or a map fails with a {@code ClassCastException}
+   */
+  static String single(Object value) {
+    if (value instanceof Long || value instanceof Integer || value instanceof UUID || value instanceof CharSequence || value instanceof EncodedValue) {
+      return value.toString();
+    }
+    return (String) value;
+  }
+
   private final Map<String, Object> variables = new LinkedHashMap<>();
 
   @Override
@@ -39,6 +50,40 @@ public class VariablesImpl implements Variables {
     return this;
   }
 
+  @Override
+  public Variables set(String name, long value) {
+    variables.put(name, value);
+    return this;
+  }
+
+  @Override
+  public Variables set(String name, int value) {
+    variables.put(name, value);
+    return this;
+  }
+
+  @Override
+  public Variables set(String name, UUID value) {
+    variables.put(name, value);
+    return this;
+  }
+
+  @Override
+  public Variables set(String name, CharSequence value) {
+    variables.put(name, value);
+    return this;
+  }
+
+  void put(String name, Object value) {
+    variables.put(name, value);
+  }
+
+  @Override
+  public Variables setEncoded(String name, String value) {
+    variables.put(name, value != null ? new EncodedValue(value) : null);
+    return this;
+  }
+
   @Override
   public Variables set(String name, List<String> value) {
     variables.put(name, value);
@@ -85,6 +130,17 @@ public class VariablesImpl implements Variables {
 
   @Override
   public Object get(String name) {
+    Object value = variables.get(name);
+    if (value instanceof EncodedValue) {
+      return ((EncodedValue) value).value;
+    }
+    return value;
+  }
+
+  /**
+   * Like {@link #get(String)} but returns the pre-encoded values as is.
+   */
+  Object value(String name) {
     return variables.get(name);
   }
 
@@ -95,7 +151,7 @@ public class VariablesImpl implements Variables {
 
   @Override
   public String getSingle(String name) {
-    return (String) variables.get(name);
+    return single(get(name));
   }
 
   @Override
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.uritemplate.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.uritemplate.Variables;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-only variables resolving the values on demand, nothing is copied.
+ */
+public class VariablesView implements Variables {
+
+  private final Function<String, ?> resolver;
+  private final Set<String> names;
+
+  /**
+   * @param resolver the function resolving a variable value
+   * @param names the variable names or {@code null} when they are not known
+   */
+  public VariablesView(Function<String, ?> resolver, Set<String> names) {
+    this.resolver = resolver;
+    this.names = names != null ? Collections.unmodifiableSet(names) : null;
+  }
+
+  private static UnsupportedOperationException readOnly() {
+    return new UnsupportedOperationException("Read-only variables");
+  }
+
+  @Override
+  public Variables set(String name, String value) {
+    throw readOnly();
+  }
+
+  @Override
+  public Variables set(String name, long value) {
+    throw readOnly();
+  }
+
+  @Override
+  public Variables set(String name, int value) {
+    throw readOnly();
+  }
+
+  @Override
+  public Variables set(String name, UUID value) {
+    throw readOnly();
+  }
+
+  @Override
+  public Variables set(String name, CharSequence value) {
+    throw readOnly();
+  }
+
+  @Override
+  public Variables setEncoded(String name, String value) {
+    throw readOnly();
+  }
+
+  @Override
+  public Variables set(String name, List<String> value) {
+    throw readOnly();
+  }
+
+  @Override
+  public Variables set(String name, Map<String, String> value) {
+    throw readOnly();
+  }
+
+  @Override
+  public Variables addAll(JsonObject json) {
+    throw readOnly();
+  }
+
+  @Override
+  public Variables clear() {
+    throw readOnly();
+  }
+
+  @Override
+  public Set<String> names() {
+    if (names == null) {
+      throw new UnsupportedOperationException("The variable names of a resolver are not known");
+    }
+    return names;
+  }
+
+  @Override
+  public Object get(String name) {
+    return resolver.apply(name);
+  }
+
+  @Override
+  public String getSingle(String name) {
+    return VariablesImpl.single(get(name));
+  }
+
+  @Override
+  public List<String> getList(String name) {
+    return (List<String>) get(name);
+  }
+
+  @Override
+  public Map<String, String> getMap(String name) {
+    return (Map<String, String>) get(name);
+  }
+}
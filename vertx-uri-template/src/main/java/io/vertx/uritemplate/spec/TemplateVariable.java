@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.uritemplate.spec;
+
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.uritemplate.impl.UriTemplateImpl;
+
+/**
+ * The expansion of a single variable of a template expression, following the rules of the expression operator
+ * (RFC 6570 section 3.2), e.g the variable {@code page} of {@code {?page,size}}.
+ *
+ * <p> The operator encoding, the separators and the name part of the variable are computed once when the variable
+ * is created, so expanding a value only appends it. The code generated from {@link UriTemplateSpec} methods expands
+ * the templates with them, it can also be used to build URIs a piece at a time without a template.
+ *
+ * <p> Instances are immutable and can be shared between threads.
+ */
+@GenIgnore
+public interface TemplateVariable {
+
+  /**
+   * Create the expansion of a variable.
+   *
+   * @param operator the expression operator, e.g {@code "?"}, or the empty string for a simple string expansion
+   * @param name the variable name, as it appears in a template
+   * @param maxLength the prefix modifier of the variable or {@code -1}
+   * @param exploded whether the variable is exploded
+   * @return the variable expansion
+   * @throws IllegalArgumentException when the operator or the name is not valid, or when the variable has a prefix
+   *                                  modifier and is exploded
+   */
+  static TemplateVariable of(String operator, String name, int maxLength, boolean exploded) {
+    return UriTemplateImpl.variable(operator, name, maxLength, exploded);
+  }
+
+  /**
+   * Expand the variable {@code value}, like the variable of an expression: the first expanded value of an expression
+   * is preceded by the operator prefix, the following values by the operator separator, e.g {@code ?page=2} then
+   * {@code &size=50}.
+   *
+   * @param sb the builder to append to
+   * @param value the non null value, a {@code String}, a {@code CharSequence}, a {@code Long}, an {@code Integer}, a
+   *              {@code UUID}, a {@code List<String>} or a {@code Map<String, String>}
+   * @param first whether it is the first value expanded by the expression
+   * @return whether the value was expanded, empty lists and maps are not
+   * @throws IllegalArgumentException when the variable has a prefix modifier and the value is a list or a map
+   */
+  boolean expand(StringBuilder sb, Object value, boolean first);
+
+  /**
+   * Like {@link #expand(StringBuilder, Object, boolean)} with a {@code long} value, the value is expanded without
+   * boxing it.
+   */
+  boolean expand(StringBuilder sb, long value, boolean first);
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.uritemplate.spec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the template expanded by an abstract method of an interface, the template is validated at build time
+ * and an implementation of the interface expanding the templates is generated.
+ *
+ * <p> Each variable of the template is the method parameter with the same name, a parameter is a {@code String},
+ * a {@code CharSequence}, a {@code long}, an {@code int}, their boxed types, a {@code UUID}, a {@code List<String>}
+ * or a {@code Map<String, String>}, a {@code null} value is a missing variable. The method returns the expansion
+ * as a {@code String}.
+ *
+ * <p> The implementation of an interface {@code com.example.ProductUris} is the generated class
+ * {@code com.example.ProductUrisImpl}, it is generated by the annotation processor of the
+ * {@code vertx-uri-template-processor} artifact.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface UriTemplateSpec {
+
+  /**
+   * @return the template string
+   */
+  String value();
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.uritemplate.spi;
+
+/**
+ * The metrics SPI called when templates are parsed, expanded and looked up in a cache.
+ *
+ * <p> Each template created with metrics gets a template metric returned by {@link #templateParsed}, this metric
+ * is then given back to the other callbacks of the template, so an implementation can aggregate them per template
+ * without a lookup.
+ *
+ * <p> All the methods have a no-op default implementation, the callbacks are made on the expanding thread and should
+ * not block. Templates created without metrics do not measure anything.
+ *
+ * @param <T> the type of the template metric
+ */
+public interface UriTemplateMetrics<T> {
+
+  /**
+   * Called when a template is parsed.
+   *
+   * @param uri the template string
+   * @param parseTime the parse duration in nanoseconds
+   * @return the template metric
+   */
+  default T templateParsed(String uri, long parseTime) {
+    return null;
+  }
+
+  /**
+   * Called when an invalid template is rejected.
+   *
+   * @param uri the template string
+   * @param parseTime the parse duration in nanoseconds
+   */
+  default void parseFailed(String uri, long parseTime) {
+  }
+
+  /**
+   * Called when a template is expanded, the expansion of a template bound with variables is reported to the metric
+   * of the original template.
+   *
+   * @param metric the template metric
+   * @param length the length of the expansion
+   * @param expandTime the expansion duration in nanoseconds
+   */
+  default void templateExpanded(T metric, int length, long expandTime) {
+  }
+
+  /**
+   * Called when a variable referenced by a template is missing from the expanded variables, a variable referenced by
+   * several expressions is reported for each of them. An expansion failing on a missing variable reports it before
+   * failing.
+   *
+   * @param metric the template metric
+   * @param name the variable name
+   */
+  default void variableMissing(T metric, String name) {
+  }
+
+  /**
+   * Called when a cache returns a cached template.
+   *
+   * @param metric the template metric
+   */
+  default void cacheHit(T metric) {
+  }
+
+  /**
+   * Called when a cache parsed and cached a template, a template is parsed once even when concurrent lookups miss it.
+   *
+   * @param metric the template metric
+   */
+  default void cacheMiss(T metric) {
+  }
+
+  /**
+   * Called when a cache evicts a template.
+   *
+   * @param metric the template metric
+   */
+  default void cacheEviction(T metric) {
+  }
+}
@@ -12,12 +12,15 @@ module io.vertx.uritemplate {
 
   requires io.vertx.core;
   requires io.netty.common;
+  requires io.netty.buffer;
 
   requires static io.vertx.codegen.api;
   requires static io.vertx.codegen.json;
   requires static io.vertx.docgen;
 
   exports io.vertx.uritemplate;
+  exports io.vertx.uritemplate.spec;
+  exports io.vertx.uritemplate.spi;
 
   exports io.vertx.uritemplate.impl to io.vertx.tests;
 
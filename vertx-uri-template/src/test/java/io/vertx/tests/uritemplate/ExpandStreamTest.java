@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests.uritemplate;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.Variables;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExpandStreamTest {
+
+  @Test
+  public void testPipe() {
+    List<Variables> batch = new ArrayList<>();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0;i < 100;i++) {
+      batch.add(Variables.variables().set("id", String.valueOf(i)));
+      expected.append("/products/").append(i).append("\n");
+    }
+    VariablesStream source = new VariablesStream(batch);
+    BufferWriteStream destination = new BufferWriteStream(10);
+    Future<Void> fut = UriTemplate.of("/products/{id}").expandStream(source).pipeTo(destination);
+    while (!fut.isComplete()) {
+      // The destination is full every 10 writes and the source paused
+      assertTrue(destination.writeQueueFull());
+      assertTrue(source.paused());
+      destination.drain();
+    }
+    assertTrue(fut.succeeded());
+    assertEquals(expected.toString(), destination.content.toString());
+  }
+
+  @Test
+  public void testDelimiter() {
+    VariablesStream source = new VariablesStream(Arrays.asList(
+      Variables.variables().set("id", "1"),
+      Variables.variables().set("id", "2")));
+    BufferWriteStream destination = new BufferWriteStream(Integer.MAX_VALUE);
+    UriTemplate.of("/products/{id}").expandStream(source, Buffer.buffer("\r\n")).pipeTo(destination);
+    assertEquals("/products/1\r\n/products/2\r\n", destination.content.toString());
+  }
+
+  @Test
+  public void testFailure() {
+    VariablesStream source = new VariablesStream(Collections.singletonList(
+      Variables.of(name -> new Object())));
+    BufferWriteStream destination = new BufferWriteStream(Integer.MAX_VALUE);
+    Future<Void> fut = UriTemplate.of("/products/{id}").expandStream(source).pipeTo(destination);
+    assertTrue(fut.failed());
+  }
+
+  private static class VariablesStream implements ReadStream<Variables> {
+
+    private final Deque<Variables> pending;
+    private Handler<Variables> handler;
+    private Handler<Void> endHandler;
+    private long demand = Long.MAX_VALUE;
+    private boolean emitting;
+
+    VariablesStream(List<Variables> variables) {
+      pending = new ArrayDeque<>(variables);
+    }
+
+    boolean paused() {
+      return demand == 0L;
+    }
+
+    @Override
+    public ReadStream<Variables> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Variables> handler(Handler<Variables> handler) {
+      this.handler = handler;
+      emit();
+      return this;
+    }
+
+    @Override
+    public ReadStream<Variables> pause() {
+      demand = 0L;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Variables> resume() {
+      return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public ReadStream<Variables> fetch(long amount) {
+      demand += amount;
+      if (demand < 0L) {
+        demand = Long.MAX_VALUE;
+      }
+      emit();
+      return this;
+    }
+
+    @Override
+    public ReadStream<Variables> endHandler(Handler<Void> endHandler) {
+      this.endHandler = endHandler;
+      return this;
+    }
+
+    private void emit() {
+      if (emitting || handler == null) {
+        return;
+      }
+      emitting = true;
+      try {
+        while (demand > 0L && !pending.isEmpty()) {
+          if (demand != Long.MAX_VALUE) {
+            demand--;
+          }
+          handler.handle(pending.poll());
+        }
+        if (pending.isEmpty() && endHandler != null) {
+          Handler<Void> h = endHandler;
+          endHandler = null;
+          h.handle(null);
+        }
+      } finally {
+        emitting = false;
+      }
+    }
+  }
+
+  private static class BufferWriteStream implements WriteStream<Buffer> {
+
+    private final Buffer content = Buffer.buffer();
+    private final int maxSize;
+    private int queued;
+    private Handler<Void> drainHandler;
+
+    BufferWriteStream(int maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    void drain() {
+      queued = 0;
+      Handler<Void> h = drainHandler;
+      drainHandler = null;
+      if (h != null) {
+        h.handle(null);
+      }
+    }
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      content.appendBuffer(data);
+      queued++;
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> end() {
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return queued >= maxSize;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+      drainHandler = handler;
+      return this;
+    }
+  }
+}
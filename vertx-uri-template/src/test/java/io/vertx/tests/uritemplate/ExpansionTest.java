@@ -10,20 +10,32 @@
  */
 package io.vertx.tests.uritemplate;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.uritemplate.ExpandOptions;
+import io.vertx.uritemplate.IndexedVariables;
 import io.vertx.uritemplate.UriTemplate;
 import io.vertx.uritemplate.Variables;
+import io.vertx.uritemplate.impl.UriTemplateImpl;
+import io.vertx.uritemplate.spec.TemplateVariable;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class ExpansionTest {
@@ -278,6 +290,262 @@ public class ExpansionTest {
     assertEquals(NoSuchElementException.class, assertExpansionFailure("{does_not_exist}", new ExpandOptions().setAllowVariableMiss(false)).getClass());
   }
 
+  @Test
+  public void testPctEncoding() {
+    variables.set("latin", "caf\u00E9 cr\u00E8me");
+    variables.set("cjk", "\u6771\u4EAC");
+    variables.set("malformed", "a\ud83cb\udf09");
+    assertEquals("caf%C3%A9%20cr%C3%A8me", UriTemplate.of("{latin}").expandToString(variables));
+    assertEquals("%E6%9D%B1%E4%BA%AC", UriTemplate.of("{cjk}").expandToString(variables));
+    assertEquals("a%3Fb%3F", UriTemplate.of("{malformed}").expandToString(variables));
+    assertEquals("?%F0%9F%8C%89=%F0%9F%8C%89", UriTemplate.of("{?map*}").expandToString(Variables.variables().set("map", Collections.singletonMap("\ud83c\udf09", "\ud83c\udf09"))));
+  }
+
+  @Test
+  public void testExpandToStringBuilder() {
+    UriTemplate template = UriTemplate.of("/{var1}{/list*}{?map*}");
+    StringBuilder sb = new StringBuilder("prefix");
+    assertSame(sb, template.expandTo(variables, sb));
+    assertEquals("prefix/val1/one/two/three?one=1&two=2&three=3&comma=%2C", sb.toString());
+    template.expandTo(variables, new ExpandOptions(), sb.append(','));
+    assertEquals("prefix/val1/one/two/three?one=1&two=2&three=3&comma=%2C,/val1/one/two/three?one=1&two=2&three=3&comma=%2C", sb.toString());
+  }
+
+  @Test
+  public void testExpandToBuffer() {
+    UriTemplate template = UriTemplate.of("/\ud83c\udf09/{var1}{/list*}{?map*}{#euro,surrogate}");
+    String expected = "/%F0%9F%8C%89/val1/one/two/three?one=1&two=2&three=3&comma=%2C#%E2%82%AC,%F0%9F%8C%89";
+    assertEquals(expected, template.expandToBuffer(variables).toString());
+    assertEquals(expected, template.expandToBuffer(variables, new ExpandOptions()).toString());
+    Buffer buffer = Buffer.buffer("prefix");
+    assertSame(buffer, template.expandTo(variables, buffer));
+    assertEquals("prefix" + expected, buffer.toString());
+    template.expandTo(variables, new ExpandOptions(), buffer.appendByte((byte) ','));
+    assertEquals("prefix" + expected + "," + expected, buffer.toString());
+  }
+
+  @Test
+  public void testPrefixSplittingSurrogatePair() {
+    Variables variables = Variables.variables().set("var", "\ud83c\udf09x");
+    assertEquals("%3F", UriTemplate.of("{var:1}").expandToString(variables));
+    assertEquals("%F0%9F%8C%89", UriTemplate.of("{var:2}").expandToString(variables));
+  }
+
+  @Test
+  public void testTemplateVariable() {
+    StringBuilder sb = new StringBuilder("/items");
+    assertTrue(TemplateVariable.of("?", "page", -1, false).expand(sb, 2, true));
+    assertTrue(TemplateVariable.of("?", "size", -1, false).expand(sb, "50", false));
+    assertTrue(TemplateVariable.of("?", "filter", -1, true).expand(sb, Collections.singletonMap("q", "a b"), false));
+    assertEquals("/items?page=2&size=50&q=a%20b", sb.toString());
+    sb.setLength(0);
+    TemplateVariable.of("?", "%2F", -1, false).expand(sb, "/", true);
+    TemplateVariable.of("&", "var1", 2, false).expand(sb, "val1", false);
+    assertEquals(UriTemplate.of("{?%2F}{&var1:2}").expandToString(variables), sb.toString());
+    for (String[] invalid : new String[][] { { "!", "x" }, { "??", "x" }, { "?", "" }, { "?", "x,y" }, { "?", "x}" } }) {
+      try {
+        TemplateVariable.of(invalid[0], invalid[1], -1, false);
+        fail();
+      } catch (IllegalArgumentException expected) {
+      }
+    }
+    try {
+      TemplateVariable.of("", "x", 3, true);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  @Test
+  public void testSizeHint() {
+    UriTemplate template = UriTemplate.of("http://server.com/{var}");
+    int initial = template.sizeHint();
+    assertTrue(initial >= "http://server.com/".length());
+    String longValue = String.join("", Collections.nCopies(100, "x"));
+    String expanded = template.expandToString(Variables.variables().set("var", longValue));
+    assertEquals(expanded.length(), template.sizeHint());
+    for (int i = 0;i < 10000;i++) {
+      template.expandToString(Variables.variables().set("var", "y"));
+    }
+    assertTrue(template.sizeHint() < expanded.length());
+    assertTrue(template.sizeHint() >= "http://server.com/y".length());
+  }
+
+  @Test
+  public void testSetEncoded() {
+    String value = "a/b \u20AC%2F";
+    Variables encoded = Variables.variables().setEncoded("var", value);
+    Variables plain = Variables.variables().set("var", value);
+    assertEquals(value, encoded.getSingle("var"));
+    assertEquals(value, encoded.get("var"));
+    for (String template : Arrays.asList("{var}", "{+var}", "{#var}", "{;var}", "{?var}", "{/var,var}", "{var:3}", "{+var:5}")) {
+      assertEquals(UriTemplate.of(template).expandToString(plain), UriTemplate.of(template).expandToString(encoded));
+    }
+    assertEquals("?empty=", UriTemplate.of("{?empty}").expandToString(Variables.variables().setEncoded("empty", "")));
+  }
+
+  @Test
+  public void testMemoized() {
+    UriTemplate template = UriTemplate.of("/catalog/{category}{?locale,tags}");
+    UriTemplate memoized = template.memoized(2);
+    Variables books = Variables.variables().set("category", "books").set("locale", "fr fr");
+    String expansion = memoized.expandToString(books);
+    assertEquals(template.expandToString(books), expansion);
+    assertSame(expansion, memoized.expandToString(Variables.variables().set("category", "books").set("locale", "fr fr")));
+    assertSame(expansion, memoized.expandToString(Variables.variables().setEncoded("category", "books").set("locale", "fr fr")));
+    // Not memoized
+    Variables tags = Variables.variables().set("category", "books").set("tags", Arrays.asList("a", "b"));
+    assertEquals("/catalog/books?tags=a,b", memoized.expandToString(tags));
+    assertNotSame(memoized.expandToString(tags), memoized.expandToString(tags));
+    try {
+      memoized.expandToString(Variables.variables(), new ExpandOptions().setAllowVariableMiss(false));
+      fail();
+    } catch (NoSuchElementException expected) {
+    }
+    // Fill the memo, the least recently used expansion is evicted
+    Variables music = Variables.variables().set("category", "music");
+    String musicExpansion = memoized.expandToString(music);
+    memoized.expandToString(Variables.variables().set("category", "games"));
+    assertSame(expansion, memoized.expandToString(books));
+    assertNotSame(musicExpansion, memoized.expandToString(music));
+    assertEquals(musicExpansion, memoized.expandToString(music));
+    // A working set larger than the memo keeps the frequently expanded values
+    memoized = template.memoized(2);
+    expansion = memoized.expandToString(books);
+    for (int i = 0;i < 10;i++) {
+      memoized.expandToString(Variables.variables().set("category", "c" + i));
+      assertSame(expansion, memoized.expandToString(books));
+    }
+    // Single variable
+    memoized = UriTemplate.of("/users/{id}").memoized(10);
+    assertSame(memoized.expandToString(Variables.variables().set("id", 5)), memoized.expandToString(Variables.variables().set("id", 5)));
+  }
+
+  @Test
+  public void testTypedValues() {
+    UUID uuid = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+    Variables variables = Variables.variables()
+      .set("long", Long.MIN_VALUE)
+      .set("int", 42)
+      .set("zero", 0)
+      .set("uuid", uuid)
+      .set("seq", new StringBuilder("a b"));
+    assertEquals(Long.toString(Long.MIN_VALUE), variables.getSingle("long"));
+    assertEquals("42", variables.getSingle("int"));
+    assertEquals(uuid.toString(), variables.getSingle("uuid"));
+    assertEquals("a b", variables.getSingle("seq"));
+    for (String template : Arrays.asList("{long}", "{?int,zero}", "{/uuid}", "{;seq}", "{uuid:8}", "{long:3}", "{+seq:1}")) {
+      Variables strings = Variables.variables();
+      for (String name : variables.names()) {
+        strings.set(name, variables.getSingle(name));
+      }
+      String expected = UriTemplate.of(template).expandToString(strings);
+      assertEquals(expected, UriTemplate.of(template).expandToString(variables));
+      assertEquals(expected, UriTemplate.of(template).expandToBuffer(variables).toString());
+    }
+    assertEquals("/123/-7", UriTemplate.of("/{a}/{b}").expandToString(Variables.variables().set("a", 123L).set("b", -7)));
+  }
+
+  @Test
+  public void testExpandAll() {
+    UriTemplate template = UriTemplate.of("/products/{id}{?sort}");
+    List<Variables> batch = new ArrayList<>();
+    List<String> expected = new ArrayList<>();
+    for (int i = 0;i < 1000;i++) {
+      batch.add(Variables.variables().set("id", String.valueOf(i)).set("sort", i % 2 == 0 ? "price" : "name"));
+      expected.add("/products/" + i + "?sort=" + (i % 2 == 0 ? "price" : "name"));
+    }
+    assertEquals(expected, template.expandAll(batch));
+    assertEquals(expected, template.expandAll(batch.stream()).collect(Collectors.toList()));
+    assertEquals(expected, template.expandAll(batch.parallelStream()).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testBind() {
+    UriTemplate template = UriTemplate.of("https://{region}.{host}/v{ver}/users/{id}{?fields}");
+    UriTemplate bound = template.bind(Variables.variables()
+      .set("region", "eu")
+      .set("host", "example.com")
+      .set("ver", "2"));
+    Variables variables = Variables.variables()
+      .set("region", "us")
+      .set("id", "123")
+      .set("fields", Arrays.asList("name", "email"));
+    assertEquals("https://eu.example.com/v2/users/123?fields=name,email", bound.expandToString(variables));
+    assertEquals("https://eu.example.com/v2/users/", bound.expandToString(Variables.variables()));
+    assertEquals("123", bound.match("https://eu.example.com/v2/users/123").getSingle("id"));
+    assertEquals("https://eu.example.com/v2/users/123?fields=name,email", bound.bind(variables).expandToString(Variables.variables()));
+    // Empty lists and maps are undefined, so they are not bound
+    template = UriTemplate.of("/x{/list}{?q}{&map*}");
+    bound = template.bind(Variables.variables().set("list", Collections.emptyList()).set("map", Collections.emptyMap()));
+    variables = Variables.variables()
+      .set("list", Arrays.asList("a", "b"))
+      .set("q", "c")
+      .set("map", Collections.singletonMap("k", "v"));
+    assertEquals("/x/a,b?q=c&k=v", bound.expandToString(variables));
+    assertEquals("/x", bound.expandToString(Variables.variables()));
+  }
+
+  @Test
+  public void testConstantTemplate() {
+    UriTemplate template = UriTemplate.of("http://example.com/\ud83c\udf09/index.html");
+    String expected = "http://example.com/%F0%9F%8C%89/index.html";
+    assertEquals(expected, template.expandToString(variables));
+    assertSame(template.expandToString(variables), template.expandToString(Variables.variables()));
+    assertEquals(expected, template.expandToBuffer(variables).toString());
+    assertEquals(expected, template.expandTo(variables, new StringBuilder()).toString());
+  }
+
+  @Test
+  public void testIndexedVariables() {
+    UriTemplate template = UriTemplate.of("/{x}/{y}{?x,list}");
+    assertEquals(0, template.variableIndex("x"));
+    assertEquals(1, template.variableIndex("y"));
+    assertEquals(2, template.variableIndex("list"));
+    assertEquals(-1, template.variableIndex("z"));
+    IndexedVariables indexed = template.newVariables()
+      .set(template.variableIndex("x"), "a b")
+      .set(template.variableIndex("list"), Arrays.asList("1", "2"));
+    indexed.set("y", "b").set("z", "c");
+    assertEquals("/a%20b/b?x=a%20b&list=1,2", template.expandToString(indexed));
+    assertEquals("b", indexed.get(1));
+    assertEquals("c", indexed.getSingle("z"));
+    assertEquals(new HashSet<>(Arrays.asList("x", "y", "list", "z")), indexed.names());
+    // Slots of another template
+    assertEquals("c/b", UriTemplate.of("{z}/{y}").expandToString(indexed));
+  }
+
+  @Test
+  public void testHotTemplate() {
+    variables.set("long", -42L).set("int", 7).set("uuid", UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e"));
+    variables.setEncoded("encoded", "a b/c");
+    List<String> names = new ArrayList<>(variables.names());
+    names.add("missing");
+    ExpandOptions noMiss = new ExpandOptions().setAllowVariableMiss(false);
+    for (String operator : Arrays.asList("", "+", "#", ".", "/", ";", "?", "&")) {
+      for (String modifier : Arrays.asList("", ":2", "*")) {
+        for (String name : names) {
+          String s = "/x/{" + operator + name + modifier + "}/y{" + operator + "missing,var1," + name + modifier + "}";
+          UriTemplate hot = UriTemplate.of(s);
+          for (int i = 0;i <= UriTemplateImpl.COMPILE_THRESHOLD;i++) {
+            expansion(hot, variables, new ExpandOptions());
+          }
+          UriTemplate cold = UriTemplate.of(s);
+          assertEquals(s, expansion(cold, variables, new ExpandOptions()), expansion(hot, variables, new ExpandOptions()));
+          assertEquals(s, expansion(cold, variables, noMiss), expansion(hot, variables, noMiss));
+        }
+      }
+    }
+  }
+
+  private static String expansion(UriTemplate template, Variables variables, ExpandOptions options) {
+    try {
+      return template.expandToString(variables, options);
+    } catch (RuntimeException e) {
+      return e.getClass().getName();
+    }
+  }
+
   private void assertExpansionFailure(String stringTemplate) {
     assertExpansionFailure(stringTemplate, new ExpandOptions());
   }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests.uritemplate;
+
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.Variables;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class MatchTest {
+
+  @Test
+  public void testLiteral() {
+    UriTemplate template = UriTemplate.of("/foo/bar");
+    assertEquals(0, template.match("/foo/bar").names().size());
+    assertNull(template.match("/foo/ba"));
+    assertNull(template.match("/foo/barr"));
+  }
+
+  @Test
+  public void testSimpleString() {
+    UriTemplate template = UriTemplate.of("/users/{id}/orders/{order}");
+    Variables variables = template.match("/users/123/orders/abc");
+    assertEquals("123", variables.getSingle("id"));
+    assertEquals("abc", variables.getSingle("order"));
+    assertNull(template.match("/users/123/orders"));
+    assertNull(template.match("/users/1/2/orders/abc"));
+  }
+
+  @Test
+  public void testLiteralSuffix() {
+    UriTemplate template = UriTemplate.of("/files/{name}.json");
+    assertEquals("report.2024", template.match("/files/report.2024.json").getSingle("name"));
+  }
+
+  @Test
+  public void testPctDecoding() {
+    UriTemplate template = UriTemplate.of("/{var}");
+    assertEquals("€ /", template.match("/%E2%82%AC%20%2F").getSingle("var"));
+    assertNull(template.match("/€"));
+  }
+
+  @Test
+  public void testMultipleVariables() {
+    Variables variables = UriTemplate.of("{x,y}").match("1024,768");
+    assertEquals("1024", variables.getSingle("x"));
+    assertEquals("768", variables.getSingle("y"));
+  }
+
+  @Test
+  public void testList() {
+    Variables variables = UriTemplate.of("/items{/list}").match("/items/a,b,c");
+    assertEquals(Arrays.asList("a", "b", "c"), variables.getList("list"));
+    variables = UriTemplate.of("/items{/list*}").match("/items/a/b/c");
+    assertEquals(Arrays.asList("a", "b", "c"), variables.getList("list"));
+    variables = UriTemplate.of("/search{?list*}").match("/search?list=a&list=b");
+    assertEquals(Arrays.asList("a", "b"), variables.getList("list"));
+    variables = UriTemplate.of("/search{?list}").match("/search?list=a,b");
+    assertEquals(Arrays.asList("a", "b"), variables.getList("list"));
+  }
+
+  @Test
+  public void testMap() {
+    Map<String, String> expected = new LinkedHashMap<>();
+    expected.put("one", "1");
+    expected.put("two", "2");
+    assertEquals(expected, UriTemplate.of("{/map*}").match("/one=1/two=2").getMap("map"));
+    assertEquals(expected, UriTemplate.of("/search{?q,map*}").match("/search?one=1&q=vertx&two=2").getMap("map"));
+  }
+
+  @Test
+  public void testQuery() {
+    UriTemplate template = UriTemplate.of("/search{?q,lang}{&page}");
+    Variables variables = template.match("/search?lang=fr&q=vert.x&page=2");
+    assertEquals("vert.x", variables.getSingle("q"));
+    assertEquals("fr", variables.getSingle("lang"));
+    assertEquals("2", variables.getSingle("page"));
+    variables = template.match("/search");
+    assertEquals(0, variables.names().size());
+    assertNull(template.match("/search?other=1"));
+  }
+
+  @Test
+  public void testPathStyleParameter() {
+    Variables variables = UriTemplate.of("{;x,y,empty}").match(";x=1024;y=768;empty");
+    assertEquals("1024", variables.getSingle("x"));
+    assertEquals("768", variables.getSingle("y"));
+    assertEquals("", variables.getSingle("empty"));
+  }
+
+  @Test
+  public void testReserved() {
+    UriTemplate template = UriTemplate.of("{+base}/api{?q}");
+    Variables variables = template.match("http://example.com/v1/api?q=a%20b");
+    assertEquals("http://example.com/v1", variables.getSingle("base"));
+    assertEquals("a b", variables.getSingle("q"));
+    assertEquals("a,b", UriTemplate.of("{+path}").match("a,b").getSingle("path"));
+  }
+
+  @Test
+  public void testFragment() {
+    Variables variables = UriTemplate.of("/doc{#section}").match("/doc#intro/part");
+    assertEquals("intro/part", variables.getSingle("section"));
+  }
+
+  @Test
+  public void testPrefix() {
+    UriTemplate template = UriTemplate.of("/{x:3}");
+    assertEquals("abc", template.match("/abc").getSingle("x"));
+    assertEquals("ab", template.match("/ab").getSingle("x"));
+    assertEquals("\u20AC", template.match("/%E2%82%AC").getSingle("x"));
+    assertEquals("\u20ACab", template.match("/%E2%82%ACab").getSingle("x"));
+    Variables variables = UriTemplate.of("/{x:2}/{y}").match("/ab/cdef");
+    assertEquals("ab", variables.getSingle("x"));
+    assertEquals("cdef", variables.getSingle("y"));
+    variables = UriTemplate.of("{?x:3,y}").match("?x=abc&y=def");
+    assertEquals("abc", variables.getSingle("x"));
+    assertEquals("def", variables.getSingle("y"));
+    template = UriTemplate.of("{/path:4}");
+    String uri = template.expandToString(Variables.variables().set("path", "abcdef"));
+    assertEquals("/abcd", uri);
+    assertEquals("abcd", template.match(uri).getSingle("path"));
+  }
+
+  @Test
+  public void testPrefixMismatch() {
+    assertNull(UriTemplate.of("/{x:3}").match("/abcdef"));
+    assertNull(UriTemplate.of("/{x:1}").match("/%E2%82%ACa"));
+    assertNull(UriTemplate.of("/{x:2}/{y}").match("/abc/def"));
+    assertNull(UriTemplate.of("{?x:3,y}").match("?x=abcd&y=def"));
+  }
+
+  @Test
+  public void testRoundTrip() {
+    Variables variables = Variables.variables()
+      .set("path", Arrays.asList("a b", "€"))
+      .set("label", "x")
+      .set("q", "hello world")
+      .set("page", "3");
+    UriTemplate template = UriTemplate.of("{/path*}{.label}{?q,page}");
+    String uri = template.expandToString(variables);
+    Variables matched = template.match(uri);
+    assertEquals(uri, template.expandToString(matched));
+    assertEquals(variables.getList("path"), matched.getList("path"));
+  }
+
+  @Test
+  public void testAmbiguousExplodedVariable() {
+    UriTemplate template = UriTemplate.of("{/list*,x}");
+    try {
+      template.match("/a/b");
+      fail();
+    } catch (UnsupportedOperationException ignore) {
+      // Expected
+    }
+  }
+}
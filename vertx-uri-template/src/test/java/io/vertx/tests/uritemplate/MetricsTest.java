@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests.uritemplate;
+
+import io.vertx.uritemplate.ExpandOptions;
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.UriTemplateCache;
+import io.vertx.uritemplate.Variables;
+import io.vertx.uritemplate.spi.UriTemplateMetrics;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MetricsTest {
+
+  private static class TemplateMetric {
+    private final String uri;
+    private int expansions;
+    private int length;
+    private final List<String> missing = new ArrayList<>();
+    private int hits;
+    private int misses;
+    private int evictions;
+    private TemplateMetric(String uri) {
+      this.uri = uri;
+    }
+  }
+
+  private static class FakeMetrics implements UriTemplateMetrics<TemplateMetric> {
+    private final List<TemplateMetric> parsed = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+    @Override
+    public TemplateMetric templateParsed(String uri, long parseTime) {
+      assertTrue(parseTime >= 0);
+      TemplateMetric metric = new TemplateMetric(uri);
+      parsed.add(metric);
+      return metric;
+    }
+    @Override
+    public void parseFailed(String uri, long parseTime) {
+      failures.add(uri);
+    }
+    @Override
+    public void templateExpanded(TemplateMetric metric, int length, long expandTime) {
+      assertTrue(expandTime >= 0);
+      metric.expansions++;
+      metric.length += length;
+    }
+    @Override
+    public void variableMissing(TemplateMetric metric, String name) {
+      metric.missing.add(name);
+    }
+    @Override
+    public void cacheHit(TemplateMetric metric) {
+      metric.hits++;
+    }
+    @Override
+    public void cacheMiss(TemplateMetric metric) {
+      metric.misses++;
+    }
+    @Override
+    public void cacheEviction(TemplateMetric metric) {
+      metric.evictions++;
+    }
+  }
+
+  @Test
+  public void testTemplateMetrics() {
+    FakeMetrics metrics = new FakeMetrics();
+    UriTemplate template = UriTemplate.of("/users/{id}{?q}", metrics);
+    assertEquals(1, metrics.parsed.size());
+    TemplateMetric metric = metrics.parsed.get(0);
+    assertEquals("/users/{id}{?q}", metric.uri);
+    template.expandToString(Variables.variables().set("id", "1").set("q", "a"));
+    template.expandToBuffer(Variables.variables().set("id", "2"));
+    assertEquals(2, metric.expansions);
+    assertEquals("/users/1?q=a".length() + "/users/2".length(), metric.length);
+    assertEquals(Collections.singletonList("q"), metric.missing);
+    try {
+      template.expandToString(Variables.variables(), new ExpandOptions().setAllowVariableMiss(false));
+      fail();
+    } catch (NoSuchElementException expected) {
+    }
+    assertEquals(2, metric.expansions);
+    assertEquals(Arrays.asList("q", "id"), metric.missing);
+    // Variables are looked up once
+    List<String> lookups = new ArrayList<>();
+    template.expandToString(Variables.of(name -> {
+      lookups.add(name);
+      return name.equals("id") ? "4" : null;
+    }));
+    assertEquals(Arrays.asList("id", "q"), lookups);
+    assertEquals(Arrays.asList("q", "id", "q"), metric.missing);
+    // Expansions of a bound template are reported to the original template
+    template.bind(Variables.variables().set("id", "3")).expandToString(Variables.variables().set("q", "b"));
+    assertEquals(4, metric.expansions);
+    assertEquals(1, metrics.parsed.size());
+    try {
+      UriTemplate.of("{!invalid}", metrics);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    assertEquals(Collections.singletonList("{!invalid}"), metrics.failures);
+  }
+
+  @Test
+  public void testCacheMetrics() {
+    FakeMetrics metrics = new FakeMetrics();
+    UriTemplateCache cache = UriTemplateCache.create(1, metrics);
+    cache.get("/a").expandToString(Variables.variables());
+    cache.get("/b");
+    cache.get("/b");
+    assertEquals(2, metrics.parsed.size());
+    TemplateMetric a = metrics.parsed.get(0);
+    TemplateMetric b = metrics.parsed.get(1);
+    assertEquals(1, a.expansions);
+    assertEquals(1, a.misses);
+    assertEquals(0, a.hits);
+    assertEquals(1, a.evictions);
+    assertEquals(1, b.misses);
+    assertEquals(1, b.hits);
+    assertEquals(0, b.evictions);
+  }
+}
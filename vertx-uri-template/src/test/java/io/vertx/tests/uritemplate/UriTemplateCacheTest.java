@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests.uritemplate;
+
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.UriTemplateCache;
+import io.vertx.uritemplate.Variables;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class UriTemplateCacheTest {
+
+  @Test
+  public void testHitAndMiss() {
+    UriTemplateCache cache = UriTemplateCache.create(10);
+    UriTemplate template = cache.get("/users/{id}");
+    assertEquals("/users/123", template.expandToString(Variables.variables().set("id", "123")));
+    assertSame(template, cache.get("/users/{id}"));
+    assertSame(template, cache.get("/users/{id}"));
+    assertEquals(1, cache.missCount());
+    assertEquals(2, cache.hitCount());
+    assertEquals(0, cache.evictionCount());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testEviction() {
+    UriTemplateCache cache = UriTemplateCache.create(2);
+    UriTemplate a = cache.get("/a");
+    UriTemplate b = cache.get("/b");
+    // Use a so b is the least recently used
+    cache.get("/a");
+    cache.get("/c");
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.evictionCount());
+    assertSame(a, cache.get("/a"));
+    assertNotSame(b, cache.get("/b"));
+  }
+
+  @Test
+  public void testClear() {
+    UriTemplateCache cache = UriTemplateCache.create(10);
+    UriTemplate template = cache.get("/a");
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertNotSame(template, cache.get("/a"));
+    assertEquals(2, cache.missCount());
+  }
+
+  @Test
+  public void testConcurrentMiss() throws Exception {
+    UriTemplateCache cache = UriTemplateCache.create(10);
+    int numThreads = 8;
+    CyclicBarrier barrier = new CyclicBarrier(numThreads);
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      List<Future<UriTemplate>> futures = new ArrayList<>();
+      for (int i = 0;i < numThreads;i++) {
+        futures.add(executor.submit(() -> {
+          barrier.await();
+          return cache.get("/users/{id}");
+        }));
+      }
+      UriTemplate template = futures.get(0).get();
+      for (Future<UriTemplate> future : futures) {
+        assertSame(template, future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1, cache.missCount());
+    assertEquals(numThreads - 1, cache.hitCount());
+  }
+
+  @Test
+  public void testInvalidTemplate() {
+    UriTemplateCache cache = UriTemplateCache.create(10);
+    try {
+      cache.get("{!invalid}");
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.missCount());
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011-2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests.uritemplate;
+
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.UriTemplateIndex;
+import io.vertx.uritemplate.UriTemplateMatch;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class UriTemplateIndexTest {
+
+  @Test
+  public void testMatch() {
+    UriTemplate users = UriTemplate.of("/users/{id}");
+    UriTemplate orders = UriTemplate.of("/users/{id}/orders{/order}");
+    UriTemplate profile = UriTemplate.of("/users/{id}/profile");
+    UriTemplate search = UriTemplate.of("/search{?q,page}");
+    UriTemplateIndex index = UriTemplateIndex.create(Arrays.asList(users, orders, profile, search));
+    assertEquals(4, index.size());
+    UriTemplateMatch match = index.match("/users/123");
+    assertSame(users, match.template());
+    assertEquals("123", match.variables().getSingle("id"));
+    match = index.match("/users/123/orders/456");
+    assertSame(orders, match.template());
+    assertEquals("123", match.variables().getSingle("id"));
+    assertEquals("456", match.variables().getSingle("order"));
+    match = index.match("/users/123/profile");
+    assertSame(profile, match.template());
+    match = index.match("/search?q=vertx");
+    assertSame(search, match.template());
+    assertEquals("vertx", match.variables().getSingle("q"));
+    assertNull(index.match("/users/123/settings"));
+    assertNull(index.match("/other"));
+  }
+
+  @Test
+  public void testLiteralPreferredOverExpression() {
+    UriTemplate byId = UriTemplate.of("/users/{id}");
+    UriTemplate me = UriTemplate.of("/users/me");
+    UriTemplateIndex index = UriTemplateIndex.create(Arrays.asList(byId, me));
+    assertSame(me, index.match("/users/me").template());
+    assertSame(byId, index.match("/users/mel").template());
+  }
+
+  @Test
+  public void testFirstTemplateWins() {
+    UriTemplate first = UriTemplate.of("/items/{id}");
+    UriTemplate second = UriTemplate.of("/items/{id}");
+    UriTemplateIndex index = UriTemplateIndex.create(Arrays.asList(first, second));
+    assertSame(first, index.match("/items/1").template());
+  }
+
+  @Test
+  public void testBoundedExpression() {
+    // The expression is bounded differently by the following literal
+    UriTemplate json = UriTemplate.of("/files/{name}.json");
+    UriTemplate dashed = UriTemplate.of("/files/{name}-{version}.xml");
+    UriTemplateIndex index = UriTemplateIndex.create(Arrays.asList(dashed, json));
+    UriTemplateMatch match = index.match("/files/a-b.json");
+    assertSame(json, match.template());
+    assertEquals("a-b", match.variables().getSingle("name"));
+    match = index.match("/files/a-b.xml");
+    assertSame(dashed, match.template());
+    assertEquals("b", match.variables().getSingle("version"));
+  }
+
+  @Test
+  public void testSharedExpressionNames() {
+    UriTemplate user = UriTemplate.of("/users/{id}");
+    UriTemplate posts = UriTemplate.of("/users/{userId}/posts{/postId}");
+    UriTemplate comments = UriTemplate.of("/users/{uid}/posts{/pid}/comments");
+    UriTemplate query = UriTemplate.of("/users/{id}/search{?q}");
+    UriTemplate otherQuery = UriTemplate.of("/users/{id}/search{?query}");
+    UriTemplateIndex index = UriTemplateIndex.create(Arrays.asList(user, posts, comments, query, otherQuery));
+    UriTemplateMatch match = index.match("/users/1");
+    assertSame(user, match.template());
+    assertEquals("1", match.variables().getSingle("id"));
+    match = index.match("/users/2/posts/3");
+    assertSame(posts, match.template());
+    assertEquals("2", match.variables().getSingle("userId"));
+    assertEquals("3", match.variables().getSingle("postId"));
+    assertNull(match.variables().get("id"));
+    match = index.match("/users/4/posts/5/comments");
+    assertSame(comments, match.template());
+    assertEquals("4", match.variables().getSingle("uid"));
+    assertEquals("5", match.variables().getSingle("pid"));
+    // Names are part of the input of named expressions
+    match = index.match("/users/6/search?query=a");
+    assertSame(otherQuery, match.template());
+    assertEquals("a", match.variables().getSingle("query"));
+  }
+
+  @Test
+  public void testBoundedByExpression() {
+    // A literal and an expression prefix bound the expression differently
+    UriTemplate dotted = UriTemplate.of("/{x}.{y}");
+    UriTemplate label = UriTemplate.of("/{x}{.y}");
+    UriTemplateIndex index = UriTemplateIndex.create(Arrays.asList(dotted, label));
+    assertSame(dotted, index.match("/a.b").template());
+    UriTemplateMatch match = index.match("/a");
+    assertSame(label, match.template());
+    assertEquals("a", match.variables().getSingle("x"));
+  }
+
+  @Test
+  public void testBoundedByLastLiteral() {
+    UriTemplate template = UriTemplate.of("/{x*}=");
+    UriTemplateMatch match = UriTemplateIndex.create(Arrays.asList(template)).match("/a,b=");
+    assertSame(template, match.template());
+    assertEquals(Arrays.asList("a", "b"), match.variables().getList("x"));
+  }
+
+  @Test
+  public void testMatchesLikeTemplates() {
+    List<UriTemplate> templates = new ArrayList<>();
+    for (String template : Arrays.asList("{x}.{x,y}", "{x}{.x}", "{?x,y}.{/x}", "{?x,y}{.x}", "{y:2}.{&y}", "{y:2}{.x}",
+      "{x*}=", "{;x}{x*}=", "{.x*}{x*}=", "/{y}{+x:1}-", "{x}{.x}/{+x}")) {
+      templates.add(UriTemplate.of(template));
+    }
+    UriTemplateIndex index = UriTemplateIndex.create(templates);
+    for (String uri : Arrays.asList("", "=", "/y", "b-", "x%41-", "b-.=", "y%41=", "/a-", "a.b", "-yb/a&", "ab.c&y=d")) {
+      UriTemplateMatch match = index.match(uri);
+      boolean matches = templates.stream().anyMatch(template -> template.match(uri) != null);
+      assertEquals(uri, matches, match != null);
+      if (match != null) {
+        assertEquals(match.template().match(uri).names(), match.variables().names());
+      }
+    }
+  }
+
+  @Test
+  public void testManyTemplates() {
+    List<UriTemplate> templates = new ArrayList<>();
+    for (int i = 0;i < 1000;i++) {
+      templates.add(UriTemplate.of("/api/v1/resource" + i + "/{id}{?fields}"));
+    }
+    UriTemplateIndex index = UriTemplateIndex.create(templates);
+    for (int i = 0;i < 1000;i++) {
+      UriTemplateMatch match = index.match("/api/v1/resource" + i + "/" + i + "?fields=a,b");
+      assertSame(templates.get(i), match.template());
+      assertEquals(String.valueOf(i), match.variables().getSingle("id"));
+      assertEquals(Arrays.asList("a", "b"), match.variables().getList("fields"));
+    }
+  }
+
+  @Test
+  public void testUnsupportedTemplate() {
+    try {
+      UriTemplateIndex.create(Arrays.asList(UriTemplate.of("{/list*,x}")));
+      fail();
+    } catch (IllegalArgumentException ignore) {
+      // Expected
+    }
+  }
+}
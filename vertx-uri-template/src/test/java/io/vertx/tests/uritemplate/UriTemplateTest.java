@@ -120,17 +120,52 @@ public class UriTemplateTest {
     assertEquals(4, new UriTemplateImpl.Parser().parseMaxLength("12345", 0));
   }
 
+  @Test
+  public void testParseLiteralReuse() {
+    UriTemplateImpl.Parser parser = new UriTemplateImpl.Parser();
+    assertEquals(6, parser.parseLiterals("foo%2F{", 0));
+    assertEquals("foo%2F", parser.literals.toString());
+    assertEquals(3, parser.parseLiterals("bar", 0));
+    assertEquals("bar", parser.literals.toString());
+    assertEquals(1, parser.parseLiterals("a%G0", 0));
+    assertEquals("a", parser.literals.toString());
+  }
+
+  @Test
+  public void testParseMalformedPctEncodedVarname() {
+    UriTemplateImpl.Parser parser = new UriTemplateImpl.Parser();
+    assertEquals(3, parser.parseVarspec("%E2", 0));
+    assertEquals("\uFFFD", parser.varspec.decoded);
+    assertEquals(2, parser.parseVarspec("ab", 0));
+    assertEquals("ab", parser.varspec.decoded);
+  }
+
   @Test
   public void testOpReserved() {
     assertInvalidTemplate("{!test}");
   }
 
-  private static void assertInvalidTemplate(String template) {
+  @Test
+  public void testEmptyExpression() {
+    assertInvalidTemplate("{}");
+    assertInvalidTemplate("/foo{?}");
+  }
+
+  @Test
+  public void testUnterminatedExpression() {
+    assertEquals("Unterminated expression at position 3", assertInvalidTemplate("foo{").getMessage());
+    assertEquals("Unterminated expression at position 4", assertInvalidTemplate("/foo{?bar").getMessage());
+    assertEquals("Unterminated expression at position 10", assertInvalidTemplate("/foo/{bar}{baz").getMessage());
+  }
+
+  private static Exception assertInvalidTemplate(String template) {
     try {
       UriTemplate.of(template);
       fail("Was expecting " + template + " to fail");
+      return null;
     } catch (Exception ignore) {
       // Expected
+      return ignore;
     }
   }
 }
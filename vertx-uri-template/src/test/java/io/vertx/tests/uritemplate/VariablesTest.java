@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2011-2022 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.tests.uritemplate;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.Variables;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class VariablesTest {
+
+  @Test
+  public void testFromJson() {
+    JsonObject json = new JsonObject();
+    json.put("string", "the_string");
+    json.put("int", 4);
+    json.put("boolean", false);
+    json.put("list", new JsonArray().add("foo").add(1).add(true));
+    json.put("map", new JsonObject().put("map_string", "bar"));
+    Variables var = Variables.variables(json);
+    assertEquals(new HashSet<>(Arrays.asList("string", "int", "boolean", "list", "map")), var.names());
+    assertEquals("the_string", var.get("string"));
+    assertEquals("4", var.get("int"));
+    assertEquals("false", var.get("boolean"));
+    assertEquals(Arrays.asList("foo", "1", "true"), var.get("list"));
+    assertEquals(Collections.singletonMap("map_string", "bar"), var.get("map"));
+  }
+
+  @Test
+  public void testResolver() {
+    List<String> resolved = new ArrayList<>();
+    Variables variables = Variables.of(name -> {
+      resolved.add(name);
+      return name.equals("list") ? Arrays.asList("a", "b") : name.toUpperCase();
+    });
+    assertEquals("/X/a,b", UriTemplate.of("/{x}/{list}").expandToString(variables));
+    assertEquals(Arrays.asList("x", "list"), resolved);
+    assertEquals("Y", variables.getSingle("y"));
+    try {
+      variables.set("x", "value");
+      fail();
+    } catch (UnsupportedOperationException ignore) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testMapView() {
+    Map<String, Object> map = new HashMap<>();
+    map.put("x", "1");
+    Variables variables = Variables.of(map);
+    assertEquals("/1", UriTemplate.of("/{x}").expandToString(variables));
+    map.put("x", "2");
+    map.put("list", Arrays.asList("a", "b"));
+    assertEquals("/2/a,b", UriTemplate.of("/{x}/{list}").expandToString(variables));
+    assertEquals(new HashSet<>(Arrays.asList("x", "list")), variables.names());
+  }
+
+  @Test
+  public void testJsonView() {
+    JsonObject json = new JsonObject();
+    json.put("string", "the_string");
+    json.put("int", 4);
+    json.put("list", new JsonArray().add("foo").add(1).add(new JsonObject().put("nested", true)));
+    json.put("map", new JsonObject().put("map_string", "bar").put("map_int", 5));
+    Variables copy = Variables.variables(json);
+    Variables view = Variables.of(json);
+    assertEquals(copy.names(), view.names());
+    for (String name : copy.names()) {
+      assertEquals(copy.get(name), view.get(name));
+    }
+    UriTemplate template = UriTemplate.of("/{string}/{int}{/list}{?map*}");
+    assertEquals(template.expandToString(copy), template.expandToString(view));
+    json.put("int", 5);
+    assertEquals("5", view.getSingle("int"));
+  }
+
+  @Test
+  public void testGetSingleComposite() {
+    UriTemplate template = UriTemplate.of("{list}{map}");
+    Variables variables = Variables.variables()
+      .set("list", Collections.singletonList("a"))
+      .set("map", Collections.singletonMap("k", "v"));
+    List<Variables> all = Arrays.asList(
+      variables,
+      variables.freeze(),
+      Variables.of(variables::get),
+      template.newVariables().set("list", Collections.singletonList("a")).set("map", Collections.singletonMap("k", "v")));
+    for (Variables v : all) {
+      for (String name : Arrays.asList("list", "map")) {
+        try {
+          v.getSingle(name);
+          fail();
+        } catch (ClassCastException expected) {
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFreeze() {
+    List<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+    Variables variables = Variables.variables()
+      .set("host", "example.com")
+      .setEncoded("version", "v 1")
+      .set("list", list);
+    Variables frozen = variables.freeze();
+    variables.set("host", "other.com");
+    list.add("c");
+    UriTemplate template = UriTemplate.of("http://{host}/{version}{/list}{?q}");
+    assertEquals("http://example.com/v%201/a,b", template.expandToString(frozen));
+    assertEquals("v 1", frozen.getSingle("version"));
+    assertSame(frozen, frozen.freeze());
+    try {
+      frozen.set("host", "other.com");
+      fail();
+    } catch (UnsupportedOperationException ignore) {
+      // Expected
+    }
+    try {
+      frozen.getList("list").add("d");
+      fail();
+    } catch (UnsupportedOperationException ignore) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testWith() {
+    Variables defaults = Variables.variables().set("host", "example.com").set("q", "default").freeze();
+    Variables request = defaults.with("q", "vert.x").with("list", Arrays.asList("a", "b"));
+    UriTemplate template = UriTemplate.of("http://{host}{/list}{?q}");
+    assertEquals("http://example.com?q=default", template.expandToString(defaults));
+    assertEquals("http://example.com/a,b?q=vert.x", template.expandToString(request));
+    assertEquals("http://example.com/a,b", template.expandToString(request.with("q", (String) null)));
+    assertEquals(new LinkedHashSet<>(Arrays.asList("host", "q", "list")), request.names());
+    assertEquals(new LinkedHashSet<>(Arrays.asList("host", "list")), request.with("q", (String) null).names());
+    // Derive past the flattening depth
+    Variables derived = defaults;
+    for (int i = 0;i < 20;i++) {
+      derived = derived.with("v" + i, "" + i);
+    }
+    assertEquals(22, derived.names().size());
+    assertEquals("example.com/19/0", UriTemplate.of("{host}/{v19}/{v0}").expandToString(derived));
+    // Mutable variables are not modified
+    Variables mutable = Variables.variables().set("x", "1");
+    assertEquals("2", mutable.with("x", "2").getSingle("x"));
+    assertEquals("1", mutable.getSingle("x"));
+  }
+
+  @Test
+  public void testDefaultSetters() {
+    UUID uuid = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    Variables variables = new MapVariables()
+      .set("long", 4L)
+      .set("int", 2)
+      .set("uuid", uuid)
+      .set("seq", new StringBuilder("a b"))
+      .setEncoded("encoded", "v/1");
+    assertEquals("4", variables.getSingle("long"));
+    assertEquals("2", variables.getSingle("int"));
+    assertEquals(uuid.toString(), variables.getSingle("uuid"));
+    assertEquals("a b", variables.getSingle("seq"));
+    assertEquals("v/1", variables.getSingle("encoded"));
+    assertEquals("/4/2/a%20b/v%2F1", UriTemplate.of("/{long}/{int}/{seq}/{encoded}").expandToString(variables));
+  }
+
+  /**
+   * A third party implementation only implementing the abstract methods.
+   */
+  private static class MapVariables implements Variables {
+
+    private final Map<String, Object> map = new HashMap<>();
+
+    @Override
+    public Variables set(String name, String value) {
+      map.put(name, value);
+      return this;
+    }
+
+    @Override
+    public Variables set(String name, List<String> value) {
+      map.put(name, value);
+      return this;
+    }
+
+    @Override
+    public Variables set(String name, Map<String, String> value) {
+      map.put(name, value);
+      return this;
+    }
+
+    @Override
+    public Variables addAll(JsonObject json) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Variables clear() {
+      map.clear();
+      return this;
+    }
+
+    @Override
+    public Set<String> names() {
+      return map.keySet();
+    }
+
+    @Override
+    public Object get(String name) {
+      return map.get(name);
+    }
+
+    @Override
+    public String getSingle(String name) {
+      return (String) map.get(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<String> getList(String name) {
+      return (List<String>) map.get(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Map<String, String> getMap(String name) {
+      return (Map<String, String>) map.get(name);
+    }
+  }
+}